@@ -0,0 +1,48 @@
+package chatty;
+
+import java.time.LocalDateTime;
+
+import chatty.task.Deadline;
+import chatty.task.Event;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+
+/**
+ * Builds the task lists the benchmarks run against, so every benchmark measures the same data.
+ */
+public class BenchmarkData {
+    private static final String[] WORDS = {"report", "groceries", "meeting", "book", "project", "review", "email"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns a task list with an even mix of todos, deadlines and events, a third of them done.
+     * Task names combine a common word with the task's position, so searches match a predictable share of tasks.
+     *
+     * @param size    The number of tasks.
+     * @param backing The data structure holding the tasks.
+     * @return The task list.
+     */
+    public static TaskList tasks(int size, TaskList.Backing backing) {
+        TaskList tasks = new TaskList(backing);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[i % WORDS.length] + " " + i;
+            boolean isDone = i % 3 == 0;
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(name, isDone));
+                break;
+            case 1:
+                tasks.add(new Deadline(isDone, name, base.plusMinutes(i)));
+                break;
+            default:
+                tasks.add(new Event(name, isDone, "mon 2pm", "4pm"));
+                break;
+            }
+        }
+        tasks.drainChanges();
+        return tasks;
+    }
+}
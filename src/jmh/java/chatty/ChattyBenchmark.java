@@ -0,0 +1,80 @@
+package chatty;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.controller.Storage;
+import chatty.controller.StorageConfig;
+import chatty.exception.ChattyException;
+import chatty.task.TaskList;
+
+/**
+ * Measures end-to-end responses of {@link Chatty#getResponse(String)} with 10k stored tasks.
+ * <p>
+ * Each response includes parsing, running the command and, for commands that change tasks, saving them with the
+ * default storage options. Marking the same task again keeps the list unchanged between operations.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChattyBenchmark {
+    private static final int TASKS = 10_000;
+
+    @Param({"list", "list 50", "find report 9", "find /fuzzy reprot", "mark 5", "help"})
+    private String command;
+
+    private File directory;
+    private Chatty chatty;
+
+    /**
+     * Writes a store of 10k tasks and starts Chatty on it.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void startChatty() throws IOException {
+        directory = Files.createTempDirectory("chatty-bench").toFile();
+        String path = new File(directory, "tasks.csv").getPath();
+        new Storage(path).saveTasks(BenchmarkData.tasks(TASKS, TaskList.Backing.ARRAY));
+        chatty = new Chatty(path, StorageConfig.defaults());
+    }
+
+    /**
+     * Deletes the store and its directory.
+     */
+    @TearDown(Level.Trial)
+    public void deleteStore() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public String getResponse() throws ChattyException {
+        return chatty.getResponse(command);
+    }
+}
@@ -0,0 +1,88 @@
+package chatty;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures how many dialog boxes per second can be created for new messages.
+ * <p>
+ * {@link #codeBuilt()} is the current {@link DialogBox}, laid out in code. {@link #fxmlLoaded()} reproduces the
+ * earlier constructor, which parsed {@code /view/DialogBox.fxml} for every message, as a baseline; the FXML is kept
+ * in the benchmark resources for this purpose. The FXML cannot point at the stylesheet, which stays in the main
+ * resources, by a path relative to itself, so the baseline adds it from the classpath like {@link DialogBox} does.
+ * The JavaFX toolkit is started first, so a display is required.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DialogBoxBenchmark {
+    private static final String MESSAGE = "Got it. I've added this task:\n[T][ ] read book\nNow you have 5 tasks";
+
+    /**
+     * The FxmlDialogBox class is the dialog box as it was loaded from FXML before.
+     */
+    public static class FxmlDialogBox extends HBox {
+        private static final String STYLESHEET =
+                FxmlDialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
+
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+
+        FxmlDialogBox(String text) throws IOException {
+            FXMLLoader fxmlLoader = new FXMLLoader(FxmlDialogBox.class.getResource("/view/DialogBox.fxml"));
+            fxmlLoader.setController(this);
+            fxmlLoader.setRoot(this);
+            fxmlLoader.load();
+            getStylesheets().add(STYLESHEET);
+            dialog.setText(text);
+            displayPicture.setImage(null);
+        }
+    }
+
+    /**
+     * Starts the JavaFX toolkit, unless an earlier trial already has.
+     */
+    @Setup(Level.Trial)
+    public void startToolkit() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // The toolkit is already running.
+        }
+    }
+
+    @Benchmark
+    public DialogBox codeBuilt() {
+        return DialogBox.getChattyDialog(MESSAGE, null);
+    }
+
+    @Benchmark
+    public FxmlDialogBox fxmlLoaded() throws IOException {
+        return new FxmlDialogBox(MESSAGE);
+    }
+}
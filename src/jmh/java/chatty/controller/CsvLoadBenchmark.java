@@ -0,0 +1,127 @@
+package chatty.controller;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.task.Deadline;
+import chatty.task.Event;
+import chatty.task.Task;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+
+/**
+ * Measures how many CSV rows per second can be loaded from a task file of one million rows.
+ * <p>
+ * {@link #tokenizer()} is the current {@link CsvTaskFormat} path. {@link #splitPerLine()} reproduces the earlier
+ * load path, which trimmed each line, split it with a regular expression and created a date formatter for every
+ * deadline, as a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(CsvLoadBenchmark.ROWS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvLoadBenchmark {
+    static final int ROWS = 1_000_000;
+
+    private File file;
+
+    /**
+     * Writes a task file with an even mix of todos, deadlines and events.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        TaskList tasks = new TaskList();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo("read chapter " + i, i % 2 == 0));
+                break;
+            case 1:
+                tasks.add(new Deadline(i % 2 == 0, "submit report " + i, base.plusMinutes(i)));
+                break;
+            default:
+                tasks.add(new Event("meeting " + i, i % 2 == 0, "mon 2pm", "4pm"));
+                break;
+            }
+        }
+        file = File.createTempFile("chatty-bench", ".csv");
+        try (OutputStream out = new FileOutputStream(file)) {
+            new CsvTaskFormat().write(out, tasks, 0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Benchmark
+    public TaskList tokenizer() throws IOException {
+        TaskList tasks = new TaskList();
+        new CsvTaskFormat().read(file, tasks);
+        return tasks;
+    }
+
+    @Benchmark
+    public TaskList splitPerLine() throws IOException {
+        TaskList tasks = new TaskList();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    tasks.add(parseWithSplit(line));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses a line the way the task classes did before the tokenizer was introduced.
+     *
+     * @param line The CSV line.
+     * @return The parsed task.
+     */
+    private static Task parseWithSplit(String line) {
+        String[] parts = line.split(",");
+        boolean isCompleted = parts[1].equals("1");
+        switch (line.charAt(0)) {
+        case 'T':
+            return new Todo(parts[2], isCompleted);
+        case 'D':
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            return new Deadline(isCompleted, parts[2], LocalDateTime.parse(parts[3], formatter));
+        default:
+            return new Event(parts[2], isCompleted, parts[3], parts[4]);
+        }
+    }
+}
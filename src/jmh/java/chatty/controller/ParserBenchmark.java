@@ -0,0 +1,50 @@
+package chatty.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.command.Command;
+import chatty.exception.ChattyException;
+
+/**
+ * Measures how long {@link Parser#parse(String)} takes for each type of command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({
+        "todo read book",
+        "deadline submit report /by 01/03/2025 1800",
+        "event project meeting /from mon 2pm /to 4pm",
+        "mark 3",
+        "unmark 3",
+        "delete 3",
+        "delete 10-500",
+        "list",
+        "list --type deadline --pending",
+        "find report",
+        "find /fuzzy reprot",
+        "help",
+        "bye"
+    })
+    private String command;
+
+    @Benchmark
+    public Command parse() throws ChattyException {
+        return Parser.parse(command);
+    }
+}
@@ -0,0 +1,89 @@
+package chatty.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.BenchmarkData;
+import chatty.task.TaskList;
+
+/**
+ * Measures loading and saving a store of 1k, 100k and 1M tasks in each file format.
+ * <p>
+ * Saving rewrites the whole store with the default durability, so it includes forcing the file to disk and
+ * renaming it into place, as a save after a command does.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+    @Param({"CSV", "BINARY"})
+    private StorageConfig.Format format;
+
+    private File directory;
+    private StorageConfig config;
+    private TaskList tasks;
+
+    /**
+     * Writes a store of the configured size and format.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     */
+    @Setup(Level.Trial)
+    public void writeStore() throws IOException {
+        directory = Files.createTempDirectory("chatty-bench").toFile();
+        config = StorageConfig.defaults().setFormat(format);
+        tasks = BenchmarkData.tasks(size, TaskList.Backing.ARRAY);
+        newStorage().saveTasks(tasks);
+    }
+
+    /**
+     * Deletes the store and its directory.
+     */
+    @TearDown(Level.Trial)
+    public void deleteStore() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public TaskList loadTasks() {
+        return newStorage().loadTasks();
+    }
+
+    @Benchmark
+    public TaskList saveTasks() {
+        newStorage().saveTasks(tasks);
+        return tasks;
+    }
+
+    private Storage newStorage() {
+        return new Storage(new File(directory, "tasks.csv").getPath(), config);
+    }
+}
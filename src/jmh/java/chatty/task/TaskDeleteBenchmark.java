@@ -0,0 +1,86 @@
+package chatty.task;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.BenchmarkData;
+import chatty.exception.ChattyTaskNotFoundException;
+
+/**
+ * Measures deleting a task by number from the front, middle or back of a task list, for each backing.
+ * <p>
+ * Each operation deletes one task and adds it back at the end, so the list keeps its size throughout. Pending
+ * changes are dropped every so often, since nothing saves them here.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskDeleteBenchmark {
+    private static final int DRAIN_INTERVAL = 1024;
+
+    /**
+     * Enum representing where in the list the deleted task is.
+     */
+    public enum Position {
+        FRONT,
+        MIDDLE,
+        BACK
+    }
+
+    @Param({"1000", "100000"})
+    private int size;
+    @Param({"ARRAY", "TREE"})
+    private TaskList.Backing backing;
+    @Param({"FRONT", "MIDDLE", "BACK"})
+    private Position position;
+
+    private TaskList tasks;
+    private int index;
+    private int operations = 0;
+
+    /**
+     * Builds the task list and works out the number of the task to delete.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() {
+        tasks = BenchmarkData.tasks(size, backing);
+        switch (position) {
+        case FRONT:
+            index = 1;
+            break;
+        case MIDDLE:
+            index = size / 2;
+            break;
+        default:
+            index = size;
+            break;
+        }
+    }
+
+    @Benchmark
+    public Task deleteAndReAdd() throws ChattyTaskNotFoundException {
+        Task task = tasks.getTask(index);
+        tasks.delete(index);
+        tasks.add(task);
+        if (++operations % DRAIN_INTERVAL == 0) {
+            tasks.drainChanges();
+        }
+        return task;
+    }
+}
@@ -0,0 +1,64 @@
+package chatty.task;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import chatty.BenchmarkData;
+
+/**
+ * Measures searching and rendering a task list of 1k and 100k tasks.
+ * <p>
+ * The search indexes are built during setup, so the searches measure answering a query rather than the first
+ * search of a session. {@link #tasksContainCommonWord()} matches a seventh of the tasks, while
+ * {@link #tasksContainRareSubstring()} matches only a handful.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    private TaskList tasks;
+
+    /**
+     * Builds the task list and its search indexes.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() {
+        tasks = BenchmarkData.tasks(size, TaskList.Backing.ARRAY);
+        tasks.tasksContain("report");
+        tasks.tasksContain("rt 9");
+    }
+
+    @Benchmark
+    public TaskList tasksContainCommonWord() {
+        return tasks.tasksContain("report");
+    }
+
+    @Benchmark
+    public TaskList tasksContainRareSubstring() {
+        return tasks.tasksContain("rt 99");
+    }
+
+    @Benchmark
+    public String renderAll() {
+        return tasks.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package chatty;
+
+/**
+ * Represents one message in the conversation shown in the main window.
+ * <p>
+ * The conversation view keeps only these lightweight messages; the dialog boxes displaying them are created for the
+ * visible rows alone and reused as the user scrolls.
+ * </p>
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructs a {@code ChatMessage} with the specified text and speaker.
+     *
+     * @param text       The text of the message.
+     * @param isFromUser Whether the user sent the message, rather than Chatty.
+     */
+    public ChatMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+}
@@ -1,9 +1,13 @@
 package chatty;
 
+import java.util.Locale;
+
 import chatty.command.Command;
 import chatty.controller.Parser;
 import chatty.controller.Storage;
+import chatty.controller.StorageConfig;
 import chatty.exception.ChattyException;
+import chatty.metrics.CommandMetrics;
 import chatty.task.TaskList;
 import chatty.ui.Ui;
 
@@ -20,23 +24,36 @@ public class Chatty {
     private TaskList taskList; // List of tasks being managed.
     private Storage storage; // Storage for loading and saving tasks.
     private Ui ui; // User interface for interacting with the user.
+    private boolean hasExited = false; // Whether an exit command has been processed.
+    private final CommandMetrics metrics = CommandMetrics.getInstance(); // Timings and errors of the commands.
 
     /**
      * Constructs a new {@code Chatty} instance, initializing the UI, storage, and task list.
      * <p>
      * The task list is loaded from the specified CSV file. If loading fails, an empty task list is initialized.
+     * Storage options are read from the {@code chatty.storage.*} system properties.
      * </p>
      *
      * @param filePath The file path of the CSV file containing saved tasks.
      */
     public Chatty(String filePath) {
+        this(filePath, StorageConfig.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a new {@code Chatty} instance whose storage uses the given options.
+     *
+     * @param filePath The file path of the CSV file containing saved tasks.
+     * @param config   The storage options to use.
+     */
+    public Chatty(String filePath, StorageConfig config) {
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
+        this.storage = new Storage(filePath, config);
         try {
             this.taskList = storage.loadTasks();
         } catch (Exception e) {
             ui.sendError(e.getMessage());
-            taskList = new TaskList();
+            taskList = new TaskList(config.getBacking());
         }
     }
 
@@ -57,6 +74,8 @@ public class Chatty {
      * <p>
      * This method parses the input command, executes the corresponding action,
      * and returns the response message. If an error occurs, an error message is returned instead.
+     * The time spent parsing, executing, formatting the response and saving is recorded in the
+     * {@link CommandMetrics} under the command's type, and every failure is counted by its exception class.
      * </p>
      *
      * @param input The user command as a string.
@@ -64,11 +83,69 @@ public class Chatty {
      * @throws ChattyException If the command results in an error.
      */
     public String getResponse(String input) throws ChattyException {
+        storage.takeSaveNanos(); // Saves made between commands, such as at the end of a batch, are not counted.
+        long start = System.nanoTime();
         try {
             Command command = Parser.parse(input);
-            return command.execute(taskList, ui, storage);
+            long parsed = System.nanoTime();
+            hasExited = hasExited || command.isExit();
+            String response = command.execute(taskList, ui, storage);
+            long saveNanos = storage.takeSaveNanos();
+            long formatNanos = command.getFormatNanos();
+            metrics.record(typeOf(command), parsed - start, System.nanoTime() - parsed - formatNanos - saveNanos,
+                    formatNanos, saveNanos);
+            return response;
         } catch (ChattyException e) {
+            metrics.recordError(e);
             return ui.sendError(e.getMessage());
+        } catch (RuntimeException e) {
+            metrics.recordError(e);
+            throw e;
         }
     }
+
+    /**
+     * Returns the type a command is recorded under in the metrics, such as {@code list} for a ListCommand.
+     *
+     * @param command The command.
+     * @return The lower-case name of the command's class without the {@code Command} suffix.
+     */
+    private static String typeOf(Command command) {
+        String name = command.getClass().getSimpleName();
+        if (name.endsWith("Command") && name.length() > "Command".length()) {
+            name = name.substring(0, name.length() - "Command".length());
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether the user has asked to exit.
+     *
+     * @return {@code true} once an exit command has been processed.
+     */
+    public boolean hasExited() {
+        return hasExited;
+    }
+
+    /**
+     * Begins a batch of commands whose saves are deferred and combined into one.
+     */
+    public void beginBatch() {
+        storage.beginBatch();
+    }
+
+    /**
+     * Ends a batch of commands, saving their changes at once and waiting for the save to be written.
+     */
+    public void endBatch() {
+        storage.endBatch();
+        storage.flush();
+    }
+
+    /**
+     * Writes every pending save and releases the storage's background writer, once no more commands will be sent.
+     */
+    public void shutdown() {
+        storage.shutdown();
+    }
 }
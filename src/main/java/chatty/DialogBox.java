@@ -1,18 +1,17 @@
 package chatty;
 
-import java.io.IOException;
 import java.util.Collections;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.shape.Circle;
 
 /**
  * Represents a dialog box in the Chatty application.
@@ -21,46 +20,88 @@ import javafx.scene.layout.HBox;
  * and a {@code Label} containing the speaker's text. This class provides methods
  * to create user and Chatty response dialog boxes with appropriate formatting.
  * </p>
+ * <p>
+ * The layout is built in code rather than loaded from FXML, since parsing the FXML for every message was one of the
+ * most expensive steps in replying. The stylesheet location is resolved once and shared by every box.
+ * </p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
+    private static final double PICTURE_SIZE = 60.0;
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
+    private boolean isReply = false; // Whether the box is flipped to show a reply from Chatty.
 
     /**
      * Constructs a {@code DialogBox} with the specified text and image.
      * <p>
-     * This constructor loads the corresponding FXML file and initializes the dialog text and image.
+     * This constructor lays out the label and the circular avatar with the user's message on the right,
+     * and initializes the dialog text and image.
      * </p>
      *
      * @param text The text message to be displayed.
      * @param img  The image representing the speaker.
      */
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        getStylesheets().add(STYLESHEET);
+
+        dialog.setWrapText(true);
+        dialog.setMinHeight(USE_PREF_SIZE);
+        dialog.setPadding(new Insets(6.0));
+        HBox.setMargin(dialog, new Insets(0.0, 7.0, 0.0, 7.0));
 
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setClip(new Circle(PICTURE_SIZE / 2, PICTURE_SIZE / 2 + 1, PICTURE_SIZE / 2));
+
+        getChildren().addAll(dialog, displayPicture);
         dialog.setText(text);
         displayPicture.setImage(img);
     }
 
     /**
      * Flips the dialog box so that the {@code ImageView} appears on the left
-     * and the text appears on the right.
+     * and the text appears on the right, or back again.
      */
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
+        isReply = !isReply;
+        if (isReply) {
+            setAlignment(Pos.TOP_LEFT);
+            dialog.getStyleClass().add("reply-label");
+        } else {
+            setAlignment(Pos.TOP_RIGHT);
+            dialog.getStyleClass().remove("reply-label");
+        }
+    }
+
+    /**
+     * Reuses the dialog box to show another message.
+     * <p>
+     * The layout is only flipped if the speaker changes sides, so a recycled box costs no more than setting its
+     * text and image.
+     * </p>
+     *
+     * @param text    The text message to be displayed.
+     * @param img     The image representing the speaker.
+     * @param isReply Whether the message is a reply from Chatty, shown on the left.
+     */
+    void show(String text, Image img, boolean isReply) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (this.isReply != isReply) {
+            flip();
+        }
     }
 
     /**
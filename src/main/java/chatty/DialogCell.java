@@ -0,0 +1,54 @@
+package chatty;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Displays a {@link ChatMessage} in the conversation view.
+ * <p>
+ * The {@link ListView} only creates enough cells to fill the visible area and hands them new messages as the user
+ * scrolls, so each cell builds its {@link DialogBox} once and updates it in place afterwards.
+ * </p>
+ */
+class DialogCell extends ListCell<ChatMessage> {
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+
+    private final Image userImage;
+    private final Image chattyImage;
+    private DialogBox dialogBox; // Created when the cell first shows a message.
+
+    /**
+     * Constructs a {@code DialogCell} for the given list, using the given avatars.
+     *
+     * @param listView    The list the cell belongs to, whose width the dialog box follows.
+     * @param userImage   The image representing the user.
+     * @param chattyImage The image representing Chatty.
+     */
+    DialogCell(ListView<ChatMessage> listView, Image userImage, Image chattyImage) {
+        this.userImage = userImage;
+        this.chattyImage = chattyImage;
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+        setMaxWidth(USE_PREF_SIZE);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        if (dialogBox == null) {
+            dialogBox = DialogBox.getUserDialog("", userImage);
+        }
+        if (message.isFromUser()) {
+            dialogBox.show(message.getText(), userImage, false);
+        } else {
+            dialogBox.show(message.getText(), chattyImage, true);
+        }
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,154 @@
+package chatty;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import chatty.exception.ChattyException;
+
+/**
+ * The {@code HeadlessRunner} class runs Chatty without a display, reading one command per line.
+ * <p>
+ * Commands are read from a script file, or from standard input if none is given, and each response is written to
+ * standard output in a buffered stream, so millions of commands can be processed at full speed. Saves are deferred
+ * and made once per batch of {@value #DEFAULT_BATCH_SIZE} commands, and once more at the end, instead of after
+ * every command. Processing stops at the end of the input or after a {@code bye} command.
+ * </p>
+ * <p>
+ * This class does not depend on JavaFX, so it can also be compiled and run on its own, as the text UI test does.
+ * </p>
+ */
+public class HeadlessRunner {
+    static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final String DIVIDER = "___________________________________________________________________";
+    private static final int OUTPUT_BUFFER_CHARS = 1 << 16;
+
+    private final Chatty chatty;
+    private final int batchSize;
+
+    /**
+     * Constructs a {@code HeadlessRunner} sending commands to the given Chatty instance.
+     *
+     * @param chatty    The Chatty instance that handles user commands.
+     * @param batchSize The number of commands whose saves are combined into one.
+     */
+    public HeadlessRunner(Chatty chatty, int batchSize) {
+        assert batchSize > 0 : "batch size should be positive";
+        this.chatty = chatty;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs Chatty headless.
+     * <p>
+     * Accepted arguments are an optional {@code --data <file>} choosing the task file, which defaults to
+     * {@code ./data/tasks.csv}, and an optional path to a script file. A leading {@code --headless}, as passed on
+     * by {@link Launcher}, is ignored.
+     * </p>
+     *
+     * @param args Command-line arguments passed to the application.
+     */
+    public static void main(String[] args) {
+        String dataPath = "./data/tasks.csv";
+        String scriptPath = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--headless")) {
+                continue;
+            } else if (args[i].equals("--data") && i + 1 < args.length) {
+                dataPath = args[++i];
+            } else {
+                scriptPath = args[i];
+            }
+        }
+
+        Chatty chatty = new Chatty(dataPath);
+        HeadlessRunner runner = new HeadlessRunner(chatty, DEFAULT_BATCH_SIZE);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_CHARS);
+        try (InputStream in = scriptPath == null ? System.in : new FileInputStream(scriptPath)) {
+            runner.run(new InputStreamReader(in, StandardCharsets.UTF_8), out);
+        } catch (IOException e) {
+            System.out.println("Error running commands: " + e.getMessage());
+        } finally {
+            chatty.shutdown();
+        }
+    }
+
+    /**
+     * Sends every command from the input to Chatty and writes the responses to the output.
+     *
+     * @param input  The commands, one per line. Blank lines are skipped.
+     * @param output The destination of the responses, flushed at the end of each batch and of the run.
+     * @return The number of commands processed.
+     * @throws IOException If the input cannot be read or the output cannot be written.
+     */
+    public long run(Reader input, Writer output) throws IOException {
+        BufferedReader reader = new BufferedReader(input);
+        long count = 0;
+        writeResponse(output, chatty.intro());
+        chatty.beginBatch();
+        try {
+            String line;
+            while (!chatty.hasExited() && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                writeResponse(output, respond(line.trim()));
+                count++;
+                if (count % batchSize == 0) {
+                    chatty.endBatch();
+                    output.flush();
+                    chatty.beginBatch();
+                }
+            }
+        } finally {
+            chatty.endBatch();
+            output.flush();
+        }
+        return count;
+    }
+
+    /**
+     * Returns Chatty's response to a command, or an error message if the command fails unexpectedly.
+     *
+     * @param command The command.
+     * @return The response.
+     */
+    private String respond(String command) {
+        try {
+            return chatty.getResponse(command);
+        } catch (ChattyException | RuntimeException e) {
+            return "Error processing command: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Writes a response below a divider, with every line indented by a tab.
+     *
+     * @param output   The destination of the response.
+     * @param response The response.
+     * @throws IOException If the output cannot be written.
+     */
+    private static void writeResponse(Writer output, String response) throws IOException {
+        output.write(DIVIDER);
+        output.write("\nChatty:\n");
+        int start = 0;
+        while (start <= response.length()) {
+            int end = response.indexOf('\n', start);
+            if (end < 0) {
+                end = response.length();
+            }
+            output.write('\t');
+            output.write(response, start, end - start);
+            output.write('\n');
+            start = end + 1;
+        }
+    }
+}
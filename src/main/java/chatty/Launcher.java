@@ -6,16 +6,22 @@ import javafx.application.Application;
  * The {@code Launcher} class serves as an entry point to start the Chatty application.
  * <p>
  * This class acts as a workaround for JavaFX classpath issues that may arise when launching
- * the application directly from a JAR file. It delegates the execution to {@link Main}.
+ * the application directly from a JAR file. It delegates the execution to {@link Main}, or to
+ * {@link HeadlessRunner} when started with {@code --headless}, in which case no display is needed.
  * </p>
  */
 public class Launcher {
     /**
      * Launches the Chatty application.
      *
-     * @param args Command-line arguments passed to the application.
+     * @param args Command-line arguments passed to the application. With {@code --headless}, commands are read
+     *             from the script file given, or from standard input, as described in {@link HeadlessRunner}.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            HeadlessRunner.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -20,6 +20,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private final Chatty chatty = new Chatty("./data/tasks.csv");
+    private MainWindow mainWindow;
 
     /**
      * Starts the JavaFX application by setting up the main window.
@@ -42,10 +43,21 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setMinHeight(220);
             stage.setMinWidth(417);
-            fxmlLoader.<MainWindow>getController().setChatty(chatty); // inject the Chatty instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setChatty(chatty); // inject the Chatty instance
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Stops the application once the commands still queued have finished.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+    }
 }
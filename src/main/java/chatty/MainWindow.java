@@ -1,13 +1,19 @@
 package chatty;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import chatty.exception.ChattyException;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * The {@code MainWindow} class serves as the controller for the Chatty application's main GUI.
@@ -15,23 +21,39 @@ import javafx.scene.layout.VBox;
  * It manages user interactions by handling text input, displaying responses, and maintaining
  * the chat layout. This class initializes the JavaFX components and binds UI elements dynamically.
  * </p>
+ * <p>
+ * The conversation is a {@link ListView} of {@link ChatMessage}s, so only the visible messages have dialog boxes,
+ * which are recycled as the user scrolls. At most {@value #MAX_HISTORY} messages are kept; older ones are dropped.
+ * </p>
+ * <p>
+ * Commands run one at a time, in the order they were sent, on a dedicated background thread, so that parsing,
+ * searching, formatting and saving never block the window. Each reply is shown in place of a placeholder message
+ * once it is ready, and the user can keep typing meanwhile.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
 
     private static final String INTRO_MSG = "Hello Master! I'm Chatty, your ever-ready personal assistant."
             + " How can I help you today?"
             + "\nType \"help\" and click \"Send\" to view the list of commands available";
+    private static final int MAX_HISTORY = 1000;
+    private static final String PENDING_MSG = "...";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
 
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Chatty chatty;
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatty-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private final Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaChatty.png"));
@@ -39,16 +61,16 @@ public class MainWindow extends AnchorPane {
     /**
      * Initializes the GUI components.
      * <p>
-     * This method ensures the scroll pane automatically scrolls down as new messages
-     * are added to the dialog container.
+     * This method sets up the conversation view to display messages in recycled dialog boxes,
+     * and shows the introduction message.
      * </p>
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.getChildren().add(
-                DialogBox.getChattyDialog(INTRO_MSG, dukeImage)
-        );
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogCell(list, userImage, dukeImage));
+        dialogList.setFocusTraversable(false);
+        messages.add(new ChatMessage(INTRO_MSG, false));
     }
 
     /**
@@ -63,21 +85,75 @@ public class MainWindow extends AnchorPane {
     /**
      * Handles user input by creating and displaying dialog boxes.
      * <p>
-     * This method retrieves user input, processes it using {@link Chatty#getResponse(String)},
-     * and displays both the user input and Chatty's response in the dialog container.
-     * The text field is cleared after processing.
+     * This method displays the user input at once, followed by a placeholder for Chatty's response, and queues the
+     * input to be processed by {@link Chatty#getResponse(String)} after any earlier commands. The placeholder is
+     * replaced by the response on the JavaFX application thread when it is ready.
+     * The text field is cleared straight away so the next command can be typed.
      * </p>
-     *
-     * @throws ChattyException If an error occurs while processing the user input.
      */
     @FXML
-    private void handleUserInput() throws ChattyException {
+    private void handleUserInput() {
         String input = userInput.getText();
-        String response = chatty.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getChattyDialog(response, dukeImage)
-        );
+        ChatMessage placeholder = new ChatMessage(PENDING_MSG, false);
+        addMessages(new ChatMessage(input, true), placeholder);
         userInput.clear();
+
+        commandExecutor.execute(() -> {
+            String response;
+            try {
+                response = chatty.getResponse(input);
+            } catch (ChattyException | RuntimeException e) {
+                response = "Error processing command: " + e.getMessage();
+            }
+            ChatMessage reply = new ChatMessage(response, false);
+            Platform.runLater(() -> showReply(placeholder, reply));
+        });
+    }
+
+    /**
+     * Waits for the queued commands to finish and their changes to be saved before the application exits.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            if (!commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Error shutting down: commands still running after "
+                        + SHUTDOWN_TIMEOUT_SECONDS + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        chatty.shutdown();
+    }
+
+    /**
+     * Appends messages to the conversation, dropping the oldest messages beyond the history limit.
+     *
+     * @param newMessages The messages to append.
+     */
+    private void addMessages(ChatMessage... newMessages) {
+        messages.addAll(newMessages);
+        if (messages.size() > MAX_HISTORY) {
+            messages.remove(0, messages.size() - MAX_HISTORY);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Shows a reply in place of its placeholder, or at the end if the placeholder has left the history.
+     *
+     * @param placeholder The placeholder shown while the command was running.
+     * @param reply       The reply to show.
+     */
+    private void showReply(ChatMessage placeholder, ChatMessage reply) {
+        int index = messages.lastIndexOf(placeholder);
+        if (index < 0) {
+            addMessages(reply);
+            return;
+        }
+        messages.set(index, reply);
+        if (index == messages.size() - 1) {
+            dialogList.scrollTo(index);
+        }
     }
 }
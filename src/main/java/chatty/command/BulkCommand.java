@@ -0,0 +1,102 @@
+package chatty.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chatty.controller.Storage;
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.Task;
+import chatty.task.TaskList;
+import chatty.ui.Ui;
+
+/**
+ * Represents a command that marks, unmarks or deletes several tasks at once.
+ * <p>
+ * The tasks are chosen by a {@link TaskSelector}, such as {@code 10-500}, {@code 1,4,9} or {@code all /find report}.
+ * Every selected task is checked before any is changed, all of them are changed as one batch and the task list is
+ * saved once, so a cleanup of a thousand tasks costs one save instead of a thousand. The response lists the first
+ * {@value #MAX_LISTED} affected tasks and counts the rest.
+ * </p>
+ */
+public class BulkCommand extends Command {
+    static final int MAX_LISTED = 10;
+
+    private final Action action;
+    private final TaskSelector selector;
+
+    /**
+     * Enum representing what a bulk command does to each selected task.
+     */
+    public enum Action {
+        MARK,
+        UNMARK,
+        DELETE
+    }
+
+    /**
+     * Constructs a {@link BulkCommand} applying the action to the selected tasks.
+     *
+     * @param action   What to do to each selected task.
+     * @param selector The tasks to apply the action to.
+     */
+    public BulkCommand(Action action, TaskSelector selector) {
+        this.action = action;
+        this.selector = selector;
+    }
+
+    /**
+     * Executes the command on every selected task and saves the task list once.
+     *
+     * @param tasks   The TaskList containing the tasks.
+     * @param ui      The UI to communicate feedback to the user.
+     * @param storage The storage responsible for saving tasks.
+     * @return The message summarising the affected tasks.
+     * @throws ChattyTaskNotFoundException If a selected task number does not exist, in which case nothing changes.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws ChattyTaskNotFoundException {
+        int[] numbers = selector.resolve(tasks);
+        if (numbers.length == 0) {
+            return ui.getMessage("No tasks matched, so nothing was changed.");
+        }
+
+        List<Task> affected;
+        String heading;
+        switch (action) {
+        case DELETE:
+            affected = tasks.deleteAll(numbers);
+            heading = "Yikes! %d tasks have been deleted:";
+            break;
+        case MARK:
+            for (int number : numbers) {
+                tasks.mark(number);
+            }
+            affected = null;
+            heading = "YAY!!! %d tasks are completed:";
+            break;
+        default:
+            for (int number : numbers) {
+                tasks.unmark(number);
+            }
+            affected = null;
+            heading = "Uh oh!! %d tasks are incomplete:";
+            break;
+        }
+        storage.saveTasks(tasks);
+
+        List<Task> listed = new ArrayList<>();
+        for (int i = 0; i < Math.min(numbers.length, MAX_LISTED); i++) {
+            listed.add(affected == null ? tasks.getTask(numbers[i]) : affected.get(i));
+        }
+        return respond(ui, () -> {
+            StringBuilder out = new StringBuilder(String.format(heading, numbers.length));
+            for (int i = 0; i < listed.size(); i++) {
+                out.append('\n').append(numbers[i]).append(". ").append(listed.get(i));
+            }
+            if (numbers.length > MAX_LISTED) {
+                out.append("\n...and ").append(numbers.length - MAX_LISTED).append(" more.");
+            }
+            return out.toString();
+        });
+    }
+}
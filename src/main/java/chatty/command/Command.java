@@ -1,5 +1,7 @@
 package chatty.command;
 
+import java.util.function.Supplier;
+
 import chatty.controller.Storage;
 import chatty.exception.ChattyTaskNotFoundException;
 import chatty.task.TaskList;
@@ -7,9 +9,14 @@ import chatty.ui.Ui;
 /**
  * Represents an abstract command that can be executed.
  * Each command may modify the task list, interact with the user, and update storage.
+ * <p>
+ * Commands build their response through {@link #respond(Ui, Supplier)}, which times the formatting separately from
+ * the rest of the command so the command metrics can report it as its own stage.
+ * </p>
  */
 public abstract class Command {
     private boolean isExit;
+    private long formatNanos = 0; // Time spent building responses, for the command metrics.
 
     /**
      * Constructs a non-exit command.
@@ -37,6 +44,33 @@ public abstract class Command {
         return isExit;
     }
 
+    /**
+     * Returns the time this command has spent building its response.
+     *
+     * @return The time spent in {@link #respond(Ui, Supplier)} in nanoseconds.
+     */
+    public long getFormatNanos() {
+        return formatNanos;
+    }
+
+    /**
+     * Builds the response message and passes it to the user interface, timing how long building it takes.
+     *
+     * @param ui      The user interface to send the message through.
+     * @param builder The code building the message, such as rendering tasks.
+     * @return The message as returned by the user interface.
+     */
+    protected String respond(Ui ui, Supplier<String> builder) {
+        long start = System.nanoTime();
+        String message;
+        try {
+            message = builder.get();
+        } finally {
+            formatNanos += System.nanoTime() - start;
+        }
+        return ui.getMessage(message);
+    }
+
     /**
      * Executes the command with the given task list, user interface, and storage.
      *
@@ -8,7 +8,7 @@ import chatty.ui.Ui;
  * Represents a command to exit the application.
  * <p>
  * This class is used to terminate the application by sending an exit message
- * through the Ui component. It does not modify the task list or storage.
+ * through the Ui component. It does not modify the task list, but waits for any pending saves to be written.
  * </p>
  */
 public class ExitCommand extends Command {
@@ -21,14 +21,15 @@ public class ExitCommand extends Command {
     }
 
     /**
-     * Executes the command to exit the application by sending an exit message to the user.
+     * Executes the command to exit the application by flushing pending saves and sending an exit message.
      *
      * @param tasks The TaskList, which is not modified in this command.
      * @param ui The UI to communicate the exit message to the user.
-     * @param storage The storage, which is not modified in this command.
+     * @param storage The storage whose pending saves are flushed before exiting.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) {
+        storage.flush();
         return ui.getExitMsg();
     }
 }
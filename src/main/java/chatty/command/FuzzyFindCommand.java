@@ -0,0 +1,54 @@
+package chatty.command;
+
+import chatty.controller.Storage;
+import chatty.task.TaskList;
+import chatty.ui.Ui;
+
+/**
+ * Represents a command that finds the tasks best matching a word, tolerating typos.
+ * <p>
+ * The {@link FuzzyFindCommand} class ranks tasks by how few edits turn the word into one of the words in their
+ * descriptions, and shows the best {@value #MAX_RESULTS} of them. Words of up to four characters tolerate one typo,
+ * longer words two.
+ * </p>
+ */
+public class FuzzyFindCommand extends Command {
+    static final int MAX_RESULTS = 10;
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    private final String word;
+
+    /**
+     * Constructs a {@link FuzzyFindCommand} with the specified word.
+     *
+     * @param word The word to search for in the task descriptions.
+     */
+    public FuzzyFindCommand(String word) {
+        this.word = word;
+    }
+
+    /**
+     * Executes the command to find the tasks best matching the word.
+     * <p>
+     * If no task has a word close enough, a message is sent to the user indicating that no tasks were found.
+     * Otherwise, the matching tasks are listed best first.
+     * </p>
+     *
+     * @param tasks   The list of tasks to search through.
+     * @param ui      The user interface to communicate results to the user.
+     * @param storage The storage used to save or load tasks (not used in this command, but included for consistency).
+     * @return The message listing the matching tasks.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        int maxDistance = word.length() <= SHORT_WORD_LENGTH ? 1 : 2;
+        TaskList relevantTasks = tasks.fuzzyFind(word, maxDistance, MAX_RESULTS);
+        if (relevantTasks.getNumOfTasks() == 0) {
+            return ui.getMessage("No task found close to keyword " + word);
+        }
+        return respond(ui, () -> String.format("Here are the %d closest tasks to: %s\n%s",
+                relevantTasks.getNumOfTasks(),
+                this.word,
+                relevantTasks));
+    }
+}
@@ -1,21 +1,64 @@
 package chatty.command;
 
+import java.util.List;
+import java.util.function.Predicate;
+
 import chatty.controller.Storage;
+import chatty.task.Task;
 import chatty.task.TaskList;
 import chatty.ui.Ui;
 
 /**
- * Represents a command to list all tasks in the task list.
+ * Represents a command to list the tasks in the task list, one page at a time.
  * <p>
- * This class is used to retrieve all tasks from the TaskList and display them to the user.
- * It converts the task list into a string representation and sends it to the user through the Ui component.
+ * This class is used to retrieve tasks from the TaskList and display them to the user.
+ * Only the requested window of at most {@value #PAGE_SIZE} tasks by default is formatted, so the cost of a response
+ * does not grow with the size of the list. Tasks may also be filtered, in which case they keep their numbers in
+ * the full list so they can still be marked or deleted by number.
+ * The numbered lines are rendered in a single pass into a buffer that is reused across commands. Lines are not
+ * streamed to the window as they are formatted: a reply is one message, and with paging the first page is the
+ * whole of it, so it is shown as soon as its own tasks are formatted however long the list is.
  * </p>
  */
 public class ListCommand extends Command {
+    /** The number of tasks shown per page. */
+    public static final int PAGE_SIZE = 100;
+
+    private static final int MAX_RETAINED_CHARS = 1 << 20;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final int from;
+    private final int limit;
+    private final Predicate<Task> filter; // Null if every task is listed.
+    private final boolean isPage; // Whether the window was requested as a page number.
 
     /**
-     * Executes the command to display all tasks in the task list.
-     * The list of tasks is converted to a string and sent as a message to the user.
+     * Constructs a command listing the first page of tasks.
+     */
+    public ListCommand() {
+        this(1, PAGE_SIZE, null, true);
+    }
+
+    /**
+     * Constructs a command listing a window of the tasks that pass the filter.
+     *
+     * @param from   The 1-based position, among the tasks that pass the filter, of the first task to list.
+     * @param limit  The maximum number of tasks to list.
+     * @param filter The condition a task must meet to be listed, or {@code null} to list every task.
+     * @param isPage Whether the window was requested as a page, so the next page can be suggested.
+     */
+    public ListCommand(int from, int limit, Predicate<Task> filter, boolean isPage) {
+        assert from >= 1 && limit >= 1 : "window should be non-empty";
+        this.from = from;
+        this.limit = limit;
+        this.filter = filter;
+        this.isPage = isPage;
+    }
+
+    /**
+     * Executes the command to display the requested window of tasks.
+     * The tasks are converted to numbered lines and sent as a message to the user. If the list does not fit in
+     * the window, a footer tells the user which tasks are shown.
      *
      * @param tasks The TaskList containing the tasks to be displayed.
      * @param ui The UI to communicate the list of tasks to the user.
@@ -23,8 +66,110 @@ public class ListCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) {
-        return ui.getMessage(String.format("You currently have %d tasks in the list\n%s.",
-                tasks.getNumOfTasks(),
-                tasks));
+        return respond(ui, () -> render(tasks));
+    }
+
+    /**
+     * Renders the requested window of tasks, with the count of tasks and the footer.
+     *
+     * @param tasks The TaskList containing the tasks to be displayed.
+     * @return The message to show.
+     */
+    private String render(TaskList tasks) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        if (filter == null) {
+            tasks.read(list -> renderWindow(list, out));
+        } else {
+            List<Task> snapshot = tasks.snapshot();
+            out.append("You currently have ").append(snapshot.size()).append(" tasks in the list\n");
+            int total = renderMatching(snapshot, out);
+            out.append('.');
+            appendFooter(out, Math.max(0, Math.min(limit, total - (from - 1))), total);
+        }
+
+        String message = out.toString();
+        if (out.capacity() > MAX_RETAINED_CHARS) {
+            BUFFER.remove(); // Do not hold on to the buffer of an unusually long list.
+        }
+        return message;
+    }
+
+    /**
+     * Renders the count of tasks and the tasks in the window, numbered by their position in the list.
+     * The caller holds the read lock of the list, so the count and the tasks agree.
+     *
+     * @param tasks The task list.
+     * @param out   The builder to render into.
+     * @return The builder.
+     */
+    private StringBuilder renderWindow(TaskList tasks, StringBuilder out) {
+        int total = tasks.getNumOfTasks();
+        out.append("You currently have ").append(total).append(" tasks in the list\n");
+        int start = Math.min(from - 1, total);
+        int end = (int) Math.min((long) start + limit, total);
+        tasks.render(out, start, end);
+        out.append('.');
+        appendFooter(out, end - start, total);
+        return out;
+    }
+
+    /**
+     * Renders the tasks in the window among those passing the filter, numbered by their position in the full list.
+     *
+     * @param tasks The tasks in the list.
+     * @param out   The builder to render into.
+     * @return The number of tasks passing the filter.
+     */
+    private int renderMatching(List<Task> tasks, StringBuilder out) {
+        int matched = 0;
+        int rendered = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (!filter.test(task)) {
+                continue;
+            }
+            matched++;
+            if (matched >= from && rendered < limit) {
+                if (rendered > 0) {
+                    out.append('\n');
+                }
+                out.append(i + 1).append(". ").append(task);
+                rendered++;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Tells the user which tasks are shown if they are not all of the listed tasks.
+     *
+     * @param out   The builder to append to.
+     * @param shown The number of tasks shown.
+     * @param total The number of tasks that could have been shown.
+     */
+    private void appendFooter(StringBuilder out, int shown, int total) {
+        String matching = filter == null ? "" : " matching";
+        if (shown == total) {
+            if (filter != null) {
+                out.append("\nFound ").append(total).append(matching).append(" tasks.");
+            }
+            return;
+        }
+        if (shown == 0) {
+            out.append("\nThere are only ").append(total).append(matching).append(" tasks, so there is nothing to show"
+                    + " from task ").append(from).append('.');
+            return;
+        }
+        out.append("\nShowing ").append(from).append('-').append(from + shown - 1)
+                .append(" of ").append(total).append(matching).append(" tasks.");
+        if (from + shown - 1 >= total) {
+            return;
+        }
+        if (isPage && filter == null) {
+            out.append(" Type \"list ").append((from - 1) / limit + 2).append("\" to see the next page.");
+        } else {
+            out.append(" Add \"--from ").append(from + shown).append("\" to see the next tasks.");
+        }
     }
 }
@@ -0,0 +1,45 @@
+package chatty.command;
+
+import chatty.controller.Storage;
+import chatty.metrics.CommandMetrics;
+import chatty.task.TaskList;
+import chatty.ui.Ui;
+
+/**
+ * Represents a command that reports how long commands have taken and how large the task store is.
+ * <p>
+ * The report lists the median and 99th percentile of each stage of every command type run so far, the errors
+ * counted by exception class, the number of tasks, the size of the saved tasks on disk and the memory taken by the
+ * search indexes.
+ * </p>
+ */
+public class StatsCommand extends Command {
+    private static final double BYTES_PER_KB = 1024.0;
+
+    private final CommandMetrics metrics;
+
+    /**
+     * Constructs a {@link StatsCommand} reporting the given metrics.
+     *
+     * @param metrics The metrics to report.
+     */
+    public StatsCommand(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Executes the StatsCommand to report the metrics and the sizes of the task store.
+     *
+     * @param tasks   The task list whose size is reported.
+     * @param ui      The user interface to interact with the user.
+     * @param storage The storage whose size on disk is reported.
+     * @return The report.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) {
+        return respond(ui, () -> metrics.getSummary()
+                + String.format("\nTasks: %d, taking %.1f KB on disk and %.1f KB of search indexes in memory",
+                        tasks.getNumOfTasks(), storage.getStoreSize() / BYTES_PER_KB,
+                        tasks.getSearchIndexMemory() / BYTES_PER_KB));
+    }
+}
@@ -0,0 +1,140 @@
+package chatty.command;
+
+import java.util.Arrays;
+
+import chatty.controller.CommandTokenizer;
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.TaskList;
+
+/**
+ * Represents a selection of tasks by number, range or keyword, used by the bulk forms of commands.
+ * <p>
+ * A selection is either a comma-separated list of task numbers and ranges, such as {@code 1,4,9} or {@code 10-500},
+ * or {@code all}, optionally followed by {@code /find <keyword>} to keep only the tasks containing the keyword.
+ * Words may be separated by any amount of whitespace. It is resolved against a task list into the sorted, distinct
+ * numbers of the selected tasks, using the list's search indexes for a keyword.
+ * </p>
+ */
+public class TaskSelector {
+    private final int[] ranges; // Pairs of first and last task numbers, or null to select every task.
+    private final String keyword; // Null unless only the tasks containing it are selected.
+
+    private TaskSelector(int[] ranges, String keyword) {
+        this.ranges = ranges;
+        this.keyword = keyword;
+    }
+
+    /**
+     * Parses a selection.
+     *
+     * @param text The selection, such as {@code 1,4,9}, {@code 10-500}, {@code all} or {@code all /find report}.
+     * @return The parsed selection.
+     * @throws IllegalArgumentException If the text is not a valid selection, including when a number is not
+     *                                  positive or a range ends before it starts.
+     */
+    public static TaskSelector parse(String text) throws IllegalArgumentException {
+        return parse(new CommandTokenizer().tokenize(text, 0));
+    }
+
+    /**
+     * Parses a selection from the words of a command's arguments.
+     *
+     * @param tokens The words of the selection.
+     * @return The parsed selection.
+     * @throws IllegalArgumentException If the words are not a valid selection, including when a number is not
+     *                                  positive or a range ends before it starts.
+     */
+    public static TaskSelector parse(CommandTokenizer tokens) throws IllegalArgumentException {
+        int wordCount = tokens.getWordCount();
+        if (wordCount > 0 && tokens.wordEquals(0, "all")) {
+            if (wordCount == 1) {
+                return new TaskSelector(null, null);
+            }
+            if (!tokens.wordEquals(1, "/find")) {
+                throw new IllegalArgumentException("Unexpected words after all");
+            }
+            if (wordCount == 2) {
+                throw new IllegalArgumentException("Missing keyword");
+            }
+            return new TaskSelector(null, tokens.text(2, wordCount));
+        }
+
+        String[] parts = tokens.text(0, wordCount).split(",");
+        int[] ranges = new int[parts.length * 2];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            int dash = part.indexOf('-');
+            int first = Integer.parseInt(dash < 0 ? part : part.substring(0, dash).trim());
+            int last = dash < 0 ? first : Integer.parseInt(part.substring(dash + 1).trim());
+            if (first < 1 || last < first) {
+                throw new IllegalArgumentException("Invalid range: " + part);
+            }
+            ranges[2 * i] = first;
+            ranges[2 * i + 1] = last;
+        }
+        return new TaskSelector(ranges, null);
+    }
+
+    /**
+     * Returns the numbers of the selected tasks in the given list.
+     * <p>
+     * Every number is checked before any is returned, so a command can reject the whole selection before changing
+     * anything.
+     * </p>
+     *
+     * @param tasks The task list to select from.
+     * @return The 1-based numbers of the selected tasks, in increasing order and without duplicates.
+     * @throws ChattyTaskNotFoundException If a selected number is beyond the end of the list.
+     */
+    public int[] resolve(TaskList tasks) throws ChattyTaskNotFoundException {
+        if (keyword != null) {
+            return tasks.find(keyword);
+        }
+        int size = tasks.getNumOfTasks();
+        if (ranges == null) {
+            int[] numbers = new int[size];
+            for (int i = 0; i < size; i++) {
+                numbers[i] = i + 1;
+            }
+            return numbers;
+        }
+
+        long selected = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i + 1] > size) {
+                throw new ChattyTaskNotFoundException(Math.max(ranges[i], size + 1));
+            }
+            selected += ranges[i + 1] - ranges[i] + 1;
+        }
+        int[] numbers = new int[(int) Math.min(selected, size)];
+        int count = 0;
+        int[] sorted = sortRanges();
+        int next = 1; // The smallest number not yet covered.
+        for (int i = 0; i < sorted.length; i += 2) {
+            for (int number = Math.max(next, sorted[i]); number <= sorted[i + 1]; number++) {
+                numbers[count++] = number;
+            }
+            next = Math.max(next, sorted[i + 1] + 1);
+        }
+        return Arrays.copyOf(numbers, count);
+    }
+
+    /**
+     * Returns the ranges sorted by their first number.
+     *
+     * @return A sorted copy of the ranges.
+     */
+    private int[] sortRanges() {
+        Integer[] order = new Integer[ranges.length / 2];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(ranges[2 * a], ranges[2 * b]));
+        int[] sorted = new int[ranges.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[2 * i] = ranges[2 * order[i]];
+            sorted[2 * i + 1] = ranges[2 * order[i] + 1];
+        }
+        return sorted;
+    }
+}
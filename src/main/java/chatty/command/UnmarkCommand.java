@@ -39,7 +39,7 @@ public class UnmarkCommand extends Command {
         tasks.unmark(taskId);
         storage.saveTasks(tasks);
         Task unmarkedTask = tasks.getTask(taskId);
-        return ui.getMessage(String.format("Uh oh!! task %d: %s, is incomplete.", taskId, unmarkedTask));
+        return respond(ui, () -> String.format("Uh oh!! task %d: %s, is incomplete.", taskId, unmarkedTask));
     }
 }
 
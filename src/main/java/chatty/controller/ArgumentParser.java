@@ -0,0 +1,23 @@
+package chatty.controller;
+
+import chatty.command.Command;
+import chatty.exception.ChattyInvalidCommandFormatException;
+
+/**
+ * Represents the parser of the arguments of one command word, registered with the {@link Parser}.
+ */
+@FunctionalInterface
+public interface ArgumentParser {
+
+    /**
+     * Parses the arguments following the command word and returns the corresponding Command object.
+     * <p>
+     * The tokenizer is reused for the next command, so only what is copied out of it may be kept.
+     * </p>
+     *
+     * @param tokens The words after the command word.
+     * @return The parsed command.
+     * @throws ChattyInvalidCommandFormatException If the arguments are not valid for the command.
+     */
+    Command parse(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException;
+}
@@ -0,0 +1,279 @@
+package chatty.controller;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import chatty.task.Deadline;
+import chatty.task.Event;
+import chatty.task.Task;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+
+/**
+ * The BinaryTaskFormat class stores tasks in a compact, versioned binary layout.
+ * <p>
+ * Loading a binary snapshot needs no regular expressions or date parsing, which makes it much faster than CSV for
+ * large task lists. The layout (all numbers big-endian) is:
+ * </p>
+ * <pre>
+ * header:  "CHTY" magic, u8 version, i64 generation, i32 task count
+ * task:    u8 type ('T', 'D' or 'E'), u8 completed (0 or 1), string name
+ *          'D' adds: i64 deadline in minutes since the epoch (UTC)
+ *          'E' adds: string start, string end
+ * string:  i32 byte length, UTF-8 bytes
+ * index:   i64 file offset of each task, then i64 file offset of the index itself (since version 2)
+ * </pre>
+ * <p>
+ * Event times are free text entered by the user, so they are stored as strings rather than timestamps.
+ * The trailing index lets {@link #map(File)} locate any task in constant time without reading the others.
+ * </p>
+ */
+class BinaryTaskFormat implements TaskFileFormat {
+    private static final byte[] MAGIC = {'C', 'H', 'T', 'Y'};
+    private static final int VERSION = 2;
+    private static final int FIRST_INDEXED_VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 4;
+    private static final int MAX_STRING_BYTES = 1 << 24;
+
+    @Override
+    public long read(File file, TaskList tasks) throws IOException {
+        try (DataInputStream in = open(file)) {
+            long generation = readHeader(in, file);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                tasks.add(readTask(in));
+            }
+            return generation;
+        } catch (EOFException e) {
+            throw new IOException("Truncated task file: " + file.getPath(), e);
+        }
+    }
+
+    @Override
+    public long readGeneration(File file) throws IOException {
+        try (DataInputStream in = open(file)) {
+            return readHeader(in, file);
+        }
+    }
+
+    @Override
+    public void write(OutputStream out, TaskList tasks, long generation) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(generation);
+        List<Task> snapshot = tasks.snapshot();
+        data.writeInt(snapshot.size());
+        long[] offsets = new long[snapshot.size()];
+        int i = 0;
+        for (Task task : snapshot) {
+            offsets[i++] = data.size();
+            writeTask(data, task);
+        }
+        long indexOffset = data.size();
+        for (long offset : offsets) {
+            data.writeLong(offset);
+        }
+        data.writeLong(indexOffset);
+        data.flush();
+    }
+
+    /**
+     * Memory-maps the given binary snapshot and returns its tasks as a lazily decoded list.
+     * <p>
+     * Only the header and footer are read up front, so this takes constant time regardless of the number of
+     * tasks. Returns {@code null} if the file predates the trailing index or is too large to map, in which case
+     * the caller should fall back to {@link #read(File, TaskList)}.
+     * </p>
+     *
+     * @param file The binary snapshot to map.
+     * @return The lazily decoded tasks, or {@code null} if the file cannot be mapped.
+     * @throws IOException If the file cannot be read or is not a binary task file.
+     */
+    MappedTaskList map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < HEADER_BYTES + 8) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (buffer.get(i) != MAGIC[i]) {
+                    throw new IOException("Not a binary task file: " + file.getPath());
+                }
+            }
+            int version = buffer.get(MAGIC.length) & 0xFF;
+            if (version < FIRST_INDEXED_VERSION) {
+                return null;
+            }
+            long generation = buffer.getLong(MAGIC.length + 1);
+            int count = buffer.getInt(MAGIC.length + 1 + 8);
+            long indexOffset = buffer.getLong((int) size - 8);
+            if (count < 0 || indexOffset < HEADER_BYTES || indexOffset + 8L * count + 8 != size) {
+                throw new IOException("Corrupted task index: " + file.getPath());
+            }
+            return new MappedTaskList(buffer, (int) indexOffset, count, generation);
+        }
+    }
+
+    /**
+     * Decodes the task record starting at the given position of a mapped snapshot.
+     * <p>
+     * Only absolute reads are used, so several threads may decode from the same buffer.
+     * </p>
+     *
+     * @param buffer   The mapped snapshot.
+     * @param position The file offset of the record.
+     * @return The decoded task.
+     * @throws IllegalStateException If the record is corrupted.
+     */
+    static Task decodeAt(ByteBuffer buffer, int position) throws IllegalStateException {
+        try {
+            int type = buffer.get(position) & 0xFF;
+            boolean isCompleted = buffer.get(position + 1) == 1;
+            int[] cursor = {position + 2};
+            String name = readString(buffer, cursor);
+            switch (type) {
+            case 'T':
+                return new Todo(name, isCompleted);
+            case 'D':
+                long minutes = buffer.getLong(cursor[0]);
+                return new Deadline(isCompleted, name, LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC));
+            case 'E':
+                String start = readString(buffer, cursor);
+                String end = readString(buffer, cursor);
+                return new Event(name, isCompleted, start, end);
+            default:
+                throw new IllegalStateException("Corrupted task record of type " + type);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Corrupted task record at offset " + position, e);
+        }
+    }
+
+    /**
+     * Reads a length-prefixed string at the cursor of a mapped snapshot and advances the cursor past it.
+     *
+     * @param buffer The mapped snapshot.
+     * @param cursor A one-element array holding the current position.
+     * @return The decoded string.
+     */
+    private static String readString(ByteBuffer buffer, int[] cursor) {
+        int length = buffer.getInt(cursor[0]);
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IllegalStateException("Corrupted string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(cursor[0] + 4, bytes);
+        cursor[0] += 4 + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static DataInputStream open(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
+    /**
+     * Validates the magic bytes and version, and returns the snapshot generation.
+     *
+     * @param in   The stream positioned at the start of the file.
+     * @param file The file being read, for error messages.
+     * @return The generation stored in the header.
+     * @throws IOException If the file is not a supported binary task file.
+     */
+    private static long readHeader(DataInputStream in, File file) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new IOException("Not a binary task file: " + file.getPath());
+            }
+        }
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary task file version " + version + ": " + file.getPath());
+        }
+        return in.readLong();
+    }
+
+    /**
+     * Writes a single task record.
+     *
+     * @param out  The stream to write to.
+     * @param task The task to write.
+     * @throws IOException If writing fails.
+     */
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        if (task instanceof Deadline) {
+            out.writeByte('D');
+        } else if (task instanceof Event) {
+            out.writeByte('E');
+        } else {
+            out.writeByte('T');
+        }
+        out.writeByte(task.isCompleted() ? 1 : 0);
+        writeString(out, task.getTaskName());
+        if (task instanceof Deadline) {
+            out.writeLong(((Deadline) task).getDeadline().toEpochSecond(ZoneOffset.UTC) / 60);
+        } else if (task instanceof Event) {
+            writeString(out, ((Event) task).getStart());
+            writeString(out, ((Event) task).getEnd());
+        }
+    }
+
+    /**
+     * Reads a single task record.
+     *
+     * @param in The stream to read from.
+     * @return The task that was read.
+     * @throws IOException If reading fails or the record is corrupted.
+     */
+    private static Task readTask(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        boolean isCompleted = in.readUnsignedByte() == 1;
+        String name = readString(in);
+        switch (type) {
+        case 'T':
+            return new Todo(name, isCompleted);
+        case 'D':
+            LocalDateTime deadline = LocalDateTime.ofEpochSecond(in.readLong() * 60, 0, ZoneOffset.UTC);
+            return new Deadline(isCompleted, name, deadline);
+        case 'E':
+            String start = readString(in);
+            String end = readString(in);
+            return new Event(name, isCompleted, start, end);
+        default:
+            throw new IOException("Corrupted task record of type " + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupted string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
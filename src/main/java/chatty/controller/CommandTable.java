@@ -0,0 +1,109 @@
+package chatty.controller;
+
+import java.util.Arrays;
+
+/**
+ * The CommandTable class maps command words, and their aliases, to the parsers of their arguments.
+ * <p>
+ * The words are kept in a trie of characters, so the command word at the start of an input is resolved in a single
+ * walk over its characters, without creating a substring or comparing the input against every known word. Only
+ * the whole first word of the input is matched: {@code marker} is not taken for {@code mark}.
+ * </p>
+ * <p>
+ * The table is not synchronized. Commands should be registered before parsing begins, such as at startup.
+ * </p>
+ */
+class CommandTable {
+    private final Node root = new Node();
+
+    /**
+     * The Node class is one character of a command word, leading to the characters that may follow it.
+     */
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private ArgumentParser parser; // Set if the characters leading here form a whole command word.
+
+        Node child(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(char key) {
+            Node child = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = key;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+
+    /**
+     * Registers a command word, replacing any parser already registered for it.
+     *
+     * @param keyword The command word.
+     * @param parser  The parser of the arguments following the word.
+     * @throws IllegalArgumentException If the word is empty or contains whitespace.
+     */
+    void register(String keyword, ArgumentParser parser) throws IllegalArgumentException {
+        if (keyword.isEmpty() || keywordEnd(keyword) != keyword.length()) {
+            throw new IllegalArgumentException("Invalid command word: \"" + keyword + "\"");
+        }
+        Node node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            Node child = node.child(keyword.charAt(i));
+            node = child == null ? node.addChild(keyword.charAt(i)) : child;
+        }
+        node.parser = parser;
+    }
+
+    /**
+     * Registers another word for an already registered command.
+     *
+     * @param alias   The new command word.
+     * @param keyword The registered command word it stands for.
+     * @throws IllegalArgumentException If the command word is not registered or the alias is not a valid word.
+     */
+    void alias(String alias, String keyword) throws IllegalArgumentException {
+        ArgumentParser parser = find(keyword, keyword.length());
+        if (parser == null) {
+            throw new IllegalArgumentException("Unknown command word: \"" + keyword + "\"");
+        }
+        register(alias, parser);
+    }
+
+    /**
+     * Returns the parser registered for the first {@code length} characters of the input.
+     *
+     * @param input  The user input.
+     * @param length The length of the command word at the start of the input.
+     * @return The parser, or null if no command has that word.
+     */
+    ArgumentParser find(String input, int length) {
+        Node node = root;
+        for (int i = 0; i < length && node != null; i++) {
+            node = node.child(input.charAt(i));
+        }
+        return node == null ? null : node.parser;
+    }
+
+    /**
+     * Returns where the command word at the start of the input ends.
+     *
+     * @param input The user input.
+     * @return The index of the first whitespace character, or the length of the input if there is none.
+     */
+    static int keywordEnd(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (Character.isWhitespace(input.charAt(i))) {
+                return i;
+            }
+        }
+        return input.length();
+    }
+}
@@ -0,0 +1,186 @@
+package chatty.controller;
+
+import java.util.Arrays;
+
+/**
+ * The CommandTokenizer class splits the arguments of a command into whitespace-separated words.
+ * <p>
+ * The input is scanned once without regular expressions, and each word is recorded only as the offsets of its first
+ * and last character, so words can be compared, counted and parsed as numbers without creating any string. Only
+ * the parts a command keeps, such as a task description, are copied out of the input, by {@link #text(int, int)} or
+ * {@link #slice(int, int)}. Flags such as {@code /by} or {@code --limit} are ordinary words, found with
+ * {@link #indexOf(String, int)}.
+ * </p>
+ * <p>
+ * A tokenizer is reused for every command parsed on the same thread, so it must not be kept after parsing.
+ * </p>
+ */
+public final class CommandTokenizer {
+    private String input = "";
+    private int[] bounds = new int[16]; // The start and end offset of every word, in pairs.
+    private int wordCount = 0;
+
+    /**
+     * Splits the input from the given offset into words, replacing the words of any previous input.
+     *
+     * @param input The user input.
+     * @param from  The offset at which the arguments start, such as the end of the command word.
+     * @return This tokenizer, holding the words of the input.
+     */
+    public CommandTokenizer tokenize(String input, int from) {
+        this.input = input;
+        wordCount = 0;
+        int i = from;
+        int length = input.length();
+        while (true) {
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return this;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (2 * wordCount == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[2 * wordCount] = start;
+            bounds[2 * wordCount + 1] = i;
+            wordCount++;
+        }
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the offset in the input of the first character of a word.
+     *
+     * @param word The index of the word.
+     * @return The offset of the word.
+     */
+    public int start(int word) {
+        checkIndex(word);
+        return bounds[2 * word];
+    }
+
+    /**
+     * Returns the offset in the input just past the last character of a word.
+     *
+     * @param word The index of the word.
+     * @return The offset just past the word.
+     */
+    public int end(int word) {
+        checkIndex(word);
+        return bounds[2 * word + 1];
+    }
+
+    /**
+     * Returns a word.
+     *
+     * @param word The index of the word.
+     * @return The word.
+     */
+    public String word(int word) {
+        return input.substring(start(word), end(word));
+    }
+
+    /**
+     * Returns whether a word is exactly the given text, without copying the word.
+     *
+     * @param word The index of the word.
+     * @param text The text to compare with.
+     * @return {@code true} if the word and the text are equal.
+     */
+    public boolean wordEquals(int word, String text) {
+        return end(word) - start(word) == text.length() && input.startsWith(text, start(word));
+    }
+
+    /**
+     * Returns the index of the first word equal to the given text, searching from a given word.
+     *
+     * @param text     The text to find, such as a flag.
+     * @param fromWord The index of the first word to compare.
+     * @return The index of the word, or -1 if no word from {@code fromWord} on is equal to the text.
+     */
+    public int indexOf(String text, int fromWord) {
+        for (int i = Math.max(fromWord, 0); i < wordCount; i++) {
+            if (wordEquals(i, text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the text covering a run of words, with the whitespace between them kept as it was typed.
+     *
+     * @param fromWord The index of the first word.
+     * @param toWord   The index just past the last word.
+     * @return The text from the start of the first word to the end of the last, or an empty string if the run has
+     *         no words.
+     */
+    public String text(int fromWord, int toWord) {
+        if (fromWord >= toWord) {
+            return "";
+        }
+        return input.substring(start(fromWord), end(toWord - 1));
+    }
+
+    /**
+     * Returns part of the input by offset, such as the text before a flag including the whitespace that precedes it.
+     *
+     * @param begin The offset of the first character.
+     * @param end   The offset just past the last character.
+     * @return The part of the input.
+     */
+    public String slice(int begin, int end) {
+        return input.substring(begin, end);
+    }
+
+    /**
+     * Returns whether a word consists only of decimal digits.
+     *
+     * @param word The index of the word.
+     * @return {@code true} if every character of the word is a digit from 0 to 9.
+     */
+    public boolean isDigits(int word) {
+        for (int i = start(word); i < end(word); i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a word as a non-negative number, without copying it.
+     *
+     * @param word The index of the word.
+     * @return The number.
+     * @throws NumberFormatException If the word is not made of digits or the number does not fit in an int.
+     */
+    public int parseInt(int word) throws NumberFormatException {
+        if (!isDigits(word)) {
+            throw new NumberFormatException("Not a number: " + word(word));
+        }
+        long value = 0;
+        for (int i = start(word); i < end(word); i++) {
+            value = value * 10 + (input.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Too large: " + word(word));
+            }
+        }
+        return (int) value;
+    }
+
+    private void checkIndex(int word) {
+        if (word < 0 || word >= wordCount) {
+            throw new IndexOutOfBoundsException("Word: " + word + ", Words: " + wordCount);
+        }
+    }
+}
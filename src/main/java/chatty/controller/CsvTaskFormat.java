@@ -0,0 +1,326 @@
+package chatty.controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import chatty.task.CsvTokenizer;
+import chatty.task.Task;
+import chatty.task.TaskList;
+
+/**
+ * The CsvTaskFormat class stores tasks as one human-readable CSV line per task.
+ * <p>
+ * Lines starting with {@code #} are comments, except for an optional {@code # snapshot <generation>} header which
+ * is only written for snapshots produced by compaction, so a plain save stays a plain CSV file. Names and event
+ * times containing commas or quotes are quoted as described in {@link CsvTokenizer}.
+ * </p>
+ */
+class CsvTaskFormat implements TaskFileFormat {
+    private static final String SNAPSHOT_HEADER = "# snapshot ";
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final int MAX_FIELDS = 16;
+    private static final int PARALLEL_MIN_BYTES = 1024 * 1024;
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final boolean isParallel;
+
+    /**
+     * Constructs a CSV format that reads files sequentially.
+     */
+    CsvTaskFormat() {
+        this(false);
+    }
+
+    /**
+     * Constructs a CSV format.
+     *
+     * @param isParallel Whether large files are parsed in parallel chunks.
+     */
+    CsvTaskFormat(boolean isParallel) {
+        this.isParallel = isParallel;
+    }
+
+    /**
+     * Reads every task in the given CSV file into the task list.
+     * <p>
+     * The file is read in large blocks and each line is tokenized in place in the read buffer, so no intermediate
+     * line strings are created. The first field of each line determines the type of task (Todo, Deadline, Event),
+     * and appropriate task objects are created and added to the TaskList. Corrupted lines are skipped.
+     * </p>
+     * <p>
+     * If parallel loading is enabled and the file is large, the file is instead split into line-aligned chunks
+     * that are parsed concurrently, and the tasks are added in their original order.
+     * </p>
+     *
+     * @param file  The CSV file to read.
+     * @param tasks The task list to add the tasks to.
+     * @return The generation of the snapshot, or 0 if the file has no snapshot header.
+     * @throws IOException If the file cannot be read.
+     */
+    @Override
+    public long read(File file, TaskList tasks) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        long size = file.length();
+        if (isParallel && size >= PARALLEL_MIN_BYTES && size <= Integer.MAX_VALUE - 8
+                && Arrays.equals("\n".getBytes(charset), new byte[] {'\n'})) {
+            return readInParallel(file, charset, tasks);
+        }
+
+        LineHandler handler = new LineHandler(tasks::add);
+        try (Reader reader = new FileReader(file, charset)) {
+            char[] buffer = new char[BUFFER_CHARS];
+            int length = 0;
+            while (true) {
+                int read = reader.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    break;
+                }
+                int scanned = length;
+                length += read;
+                int lineStart = handler.handleLines(buffer, 0, scanned, length);
+                // Keep the incomplete last line, growing the buffer if it fills the whole buffer.
+                length -= lineStart;
+                if (lineStart == 0 && length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                } else {
+                    System.arraycopy(buffer, lineStart, buffer, 0, length);
+                }
+            }
+            handler.handle(buffer, 0, length);
+        }
+        return handler.generation;
+    }
+
+    /**
+     * Reads the file by parsing line-aligned chunks of it concurrently on the common {@link ForkJoinPool}.
+     * <p>
+     * Line breaks are found on the raw bytes, which is only done for charsets that encode a line feed as the single
+     * byte {@code 0x0A} and never use that byte otherwise, such as UTF-8 and ISO-8859-1.
+     * </p>
+     *
+     * @param file    The CSV file to read.
+     * @param charset The charset of the file.
+     * @param tasks   The task list to add the tasks to.
+     * @return The generation of the snapshot, or 0 if the file has no snapshot header.
+     * @throws IOException If the file cannot be read.
+     */
+    private long readInParallel(File file, Charset charset, TaskList tasks) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                bytes.length / MIN_CHUNK_BYTES));
+
+        List<ForkJoinTask<ChunkResult>> chunks = new ArrayList<>(chunkCount);
+        int start = 0;
+        for (int i = 1; i <= chunkCount && start < bytes.length; i++) {
+            int target = (int) ((long) bytes.length * i / chunkCount);
+            int end = i == chunkCount ? bytes.length : lineEndAfter(bytes, target);
+            if (end <= start) {
+                continue;
+            }
+            int chunkStart = start;
+            chunks.add(pool.submit(() -> parseChunk(bytes, chunkStart, end, charset)));
+            start = end;
+        }
+
+        long generation = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkResult result = chunks.get(i).join();
+            if (i == 0) {
+                generation = result.generation; // Only the first line may be a snapshot header.
+            }
+            for (Task task : result.tasks) {
+                tasks.add(task);
+            }
+        }
+        return generation;
+    }
+
+    /**
+     * Returns the index just past the first line feed at or after the given index.
+     *
+     * @param bytes The file contents.
+     * @param from  The index to start looking from.
+     * @return The index of the start of the next line, or the length of the contents if there is none.
+     */
+    private static int lineEndAfter(byte[] bytes, int from) {
+        int i = from;
+        while (i < bytes.length && bytes[i] != '\n') {
+            i++;
+        }
+        return Math.min(i + 1, bytes.length);
+    }
+
+    /**
+     * Decodes and parses one line-aligned chunk of the file.
+     *
+     * @param bytes   The file contents.
+     * @param start   The index of the first byte of the chunk.
+     * @param end     The index just past the last byte of the chunk.
+     * @param charset The charset of the file.
+     * @return The tasks in the chunk, in order, and the snapshot generation if the chunk holds the header.
+     */
+    private static ChunkResult parseChunk(byte[] bytes, int start, int end, Charset charset) {
+        CharBuffer decoded = charset.decode(ByteBuffer.wrap(bytes, start, end - start));
+        char[] chars = decoded.array();
+        int from = decoded.arrayOffset() + decoded.position();
+        int to = from + decoded.remaining();
+
+        List<Task> chunkTasks = new ArrayList<>();
+        LineHandler handler = new LineHandler(chunkTasks::add);
+        int lineStart = handler.handleLines(chars, from, from, to);
+        handler.handle(chars, lineStart, to);
+        return new ChunkResult(chunkTasks, handler.generation);
+    }
+
+    @Override
+    public long readGeneration(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            return line != null && line.startsWith(SNAPSHOT_HEADER) ? parseGeneration(line.trim()) : 0;
+        }
+    }
+
+    @Override
+    public void write(OutputStream out, TaskList tasks, long generation) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
+        if (generation > 0) {
+            writer.write(SNAPSHOT_HEADER + generation);
+            writer.newLine();
+        }
+        for (String taskString : tasks.toCsv()) {
+            writer.write(taskString);
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Parses the generation number out of a snapshot header line.
+     *
+     * @param header The header line.
+     * @return The generation, or 0 if the header is corrupted.
+     */
+    private static long parseGeneration(String header) {
+        try {
+            return Long.parseLong(header.substring(SNAPSHOT_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Ignoring corrupted snapshot header: " + header);
+            return 0;
+        }
+    }
+
+    /**
+     * Parses a single CSV line into the task it describes.
+     * <p>
+     * The first field of the line determines the type of task (Todo, Deadline, Event).
+     * </p>
+     *
+     * @param line The CSV line to parse.
+     * @return The parsed task, or {@code null} if the line describes an unknown task type.
+     * @throws IllegalArgumentException If the line is corrupted.
+     */
+    static Task parseTask(String line) throws IllegalArgumentException {
+        char[] chars = line.toCharArray();
+        return CsvTokenizer.parseTask(chars, 0, chars.length, new String[MAX_FIELDS]);
+    }
+
+    /**
+     * The LineHandler class turns the lines of a CSV file into tasks, reusing its field array across lines.
+     */
+    private static class LineHandler {
+        private final Consumer<Task> sink;
+        private final String[] fields = new String[MAX_FIELDS];
+        private long generation = 0;
+
+        LineHandler(Consumer<Task> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Handles every complete line in the buffer, i.e. every line followed by a line break.
+         *
+         * @param chars     The buffer holding the lines.
+         * @param lineStart The index of the first character of the first line.
+         * @param scanned   The index up to which the buffer is known to hold no line break.
+         * @param end       The index just past the last character in the buffer.
+         * @return The index of the first character of the incomplete last line.
+         */
+        int handleLines(char[] chars, int lineStart, int scanned, int end) {
+            for (int i = scanned; i < end; i++) {
+                char c = chars[i];
+                if (c == '\n' || c == '\r') {
+                    handle(chars, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            return lineStart;
+        }
+
+        /**
+         * Handles the line between {@code start} and {@code end}, ignoring surrounding whitespace.
+         *
+         * @param chars The buffer holding the line.
+         * @param start The index of the first character of the line.
+         * @param end   The index just past the last character of the line.
+         */
+        void handle(char[] chars, int start, int end) {
+            while (start < end && chars[start] <= ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return; // Ignore empty lines.
+            }
+            if (chars[start] == '#') {
+                String comment = new String(chars, start, end - start);
+                if (comment.startsWith(SNAPSHOT_HEADER)) {
+                    generation = parseGeneration(comment);
+                }
+                return; // Ignore comments.
+            }
+            try {
+                Task task = CsvTokenizer.parseTask(chars, start, end, fields);
+                if (task == null) {
+                    System.out.println("Skipping unknown chatty.task type: " + new String(chars, start, end - start));
+                } else {
+                    sink.accept(task);
+                }
+            } catch (IllegalArgumentException e) {
+                System.out.println("Skipping corrupted line: " + new String(chars, start, end - start));
+            }
+        }
+    }
+
+    /**
+     * The ChunkResult class holds what was parsed from one chunk of a file read in parallel.
+     */
+    private static class ChunkResult {
+        private final List<Task> tasks;
+        private final long generation;
+
+        ChunkResult(List<Task> tasks, long generation) {
+            this.tasks = tasks;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package chatty.controller;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The DurableFileWriter class replaces the contents of a file with the guarantees of a chosen durability level.
+ * <p>
+ * Apart from {@link StorageConfig.Durability#NONE}, the new contents are written to a temporary file next to the
+ * target and then atomically moved over it, so a crash mid-write leaves the previous contents intact instead of a
+ * truncated file. With {@link StorageConfig.Durability#FSYNC} the temporary file is also forced to disk before the
+ * move, and the directory afterwards, so the new contents survive a power loss as well.
+ * </p>
+ */
+class DurableFileWriter {
+
+    /**
+     * Represents the code that writes the new contents of a file.
+     */
+    interface Body {
+        /**
+         * Writes the file contents to the given stream.
+         *
+         * @param out The stream to write to.
+         * @throws IOException If writing fails.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replaces the contents of the target file with what the body writes.
+     *
+     * @param target     The file to replace.
+     * @param durability The durability level to honour.
+     * @param body       The code writing the new contents.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(File target, StorageConfig.Durability durability, Body body) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        if (durability == StorageConfig.Durability.NONE) {
+            try (OutputStream out = new FileOutputStream(target)) {
+                body.writeTo(out);
+            }
+            return;
+        }
+
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            body.writeTo(out);
+            if (durability == StorageConfig.Durability.FSYNC) {
+                out.getChannel().force(true);
+            }
+        }
+        moveAtomically(temp, target);
+        if (durability == StorageConfig.Durability.FSYNC && parent != null) {
+            forceDirectory(parent);
+        }
+    }
+
+    /**
+     * Moves the source file over the target, atomically where the file system supports it.
+     *
+     * @param source The file to move.
+     * @param target The file to replace.
+     * @throws IOException If the file cannot be moved.
+     */
+    static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces a directory's entries to disk so that a completed rename is durable.
+     * <p>
+     * Some platforms, such as Windows, cannot open directories; the rename is then as durable as the platform allows.
+     * </p>
+     *
+     * @param directory The directory to force.
+     */
+    private static void forceDirectory(File directory) {
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on this platform.
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package chatty.controller;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import chatty.task.Task;
+
+/**
+ * The MappedTaskList class is a list of tasks backed by a memory-mapped binary snapshot.
+ * <p>
+ * Creating the list reads nothing; a task is only decoded, through the snapshot's offset index, the first time it
+ * is accessed, and then cached so later changes to it, such as marking it done, are kept. Tasks added afterwards
+ * are kept in an ordinary list after the mapped ones.
+ * </p>
+ * <p>
+ * Deleting a mapped task only shifts an array of record numbers, so it decodes nothing either. Inserting in the
+ * middle of the mapped tasks, which the task list never does itself, decodes every remaining task first.
+ * </p>
+ * <p>
+ * Readers holding only the task list's read lock may decode concurrently. Each decoded task is published with a
+ * compare-and-set, so every reader sees the same, fully constructed task for a record.
+ * </p>
+ */
+class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private final ByteBuffer buffer;
+    private final int indexOffset;
+    private final int recordCount;
+    private final long generation;
+    private final List<Task> appended = new ArrayList<>();
+    private final AtomicReferenceArray<Task> decoded; // Indexed by record number, null until decoded.
+    private int[] records; // Record number at each mapped position, or null while nothing has been deleted.
+    private int mappedSize;
+
+    /**
+     * Constructs a list over the records of a mapped binary snapshot.
+     *
+     * @param buffer      The mapped snapshot.
+     * @param indexOffset The file offset of the record offset index.
+     * @param recordCount The number of records in the snapshot.
+     * @param generation  The generation of the snapshot.
+     */
+    MappedTaskList(ByteBuffer buffer, int indexOffset, int recordCount, long generation) {
+        this.buffer = buffer;
+        this.indexOffset = indexOffset;
+        this.recordCount = recordCount;
+        this.generation = generation;
+        this.decoded = new AtomicReferenceArray<>(recordCount);
+        this.mappedSize = recordCount;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the number of mapped tasks that have been decoded so far.
+     *
+     * @return The number of decoded tasks.
+     */
+    int getDecodedCount() {
+        int count = 0;
+        for (int i = 0; i < recordCount; i++) {
+            if (decoded.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size());
+        if (index >= mappedSize) {
+            return appended.get(index - mappedSize);
+        }
+        int record = records == null ? index : records[index];
+        Task task = decoded.get(record);
+        if (task == null) {
+            int offset = (int) buffer.getLong(indexOffset + 8 * record);
+            decoded.compareAndSet(record, null, BinaryTaskFormat.decodeAt(buffer, offset));
+            task = decoded.get(record);
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (index >= mappedSize) {
+            appended.set(index - mappedSize, task);
+        } else {
+            decoded.set(records == null ? index : records[index], task);
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return mappedSize + appended.size();
+    }
+
+    @Override
+    public boolean add(Task task) {
+        modCount++;
+        return appended.add(task);
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size() + 1);
+        if (index < mappedSize) {
+            materialize();
+        }
+        modCount++;
+        appended.add(index - mappedSize, task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        checkIndex(index, size());
+        modCount++;
+        if (index >= mappedSize) {
+            return appended.remove(index - mappedSize);
+        }
+        Task removed = get(index);
+        if (records == null) {
+            records = new int[recordCount];
+            for (int i = 0; i < recordCount; i++) {
+                records[i] = i;
+            }
+        }
+        System.arraycopy(records, index + 1, records, index, mappedSize - index - 1);
+        mappedSize--;
+        return removed;
+    }
+
+    /**
+     * Decodes every remaining mapped task and moves it in front of the appended tasks.
+     */
+    private void materialize() {
+        List<Task> tasks = new ArrayList<>(size());
+        for (int i = 0; i < mappedSize; i++) {
+            tasks.add(get(i));
+        }
+        tasks.addAll(appended);
+        appended.clear();
+        appended.addAll(tasks);
+        mappedSize = 0;
+        records = null;
+        for (int i = 0; i < recordCount; i++) {
+            decoded.set(i, null);
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
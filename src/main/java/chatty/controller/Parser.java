@@ -1,22 +1,32 @@
 package chatty.controller;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.function.Predicate;
 
+import chatty.command.BulkCommand;
 import chatty.command.Command;
 import chatty.command.DeadlineCommand;
 import chatty.command.DeleteCommand;
 import chatty.command.EventCommand;
 import chatty.command.ExitCommand;
 import chatty.command.FindCommand;
+import chatty.command.FuzzyFindCommand;
 import chatty.command.HelpCommand;
 import chatty.command.ListCommand;
 import chatty.command.MarkCommand;
+import chatty.command.StatsCommand;
+import chatty.command.TaskSelector;
 import chatty.command.TodoCommand;
 import chatty.command.UnmarkCommand;
 import chatty.exception.ChattyInvalidCommandException;
 import chatty.exception.ChattyInvalidCommandFormatException;
+import chatty.metrics.CommandMetrics;
+import chatty.task.DateTimeFormats;
+import chatty.task.Deadline;
+import chatty.task.Event;
+import chatty.task.Task;
+import chatty.task.Todo;
 
 /**
  * The Parser class is responsible for parsing user input commands and returning the corresponding Command object.
@@ -28,9 +38,38 @@ import chatty.exception.ChattyInvalidCommandFormatException;
  * </p>
  */
 public class Parser {
+    private static final CommandTable COMMANDS = createCommandTable();
+    private static final ThreadLocal<CommandTokenizer> TOKENIZER = ThreadLocal.withInitial(CommandTokenizer::new);
+
+    /**
+     * Returns the table of the built-in commands.
+     *
+     * @return A table mapping every built-in command word to the parser of its arguments.
+     */
+    private static CommandTable createCommandTable() {
+        CommandTable commands = new CommandTable();
+        commands.register("bye", tokens -> new ExitCommand());
+        commands.register("list", Parser::parseListCommand);
+        commands.register("find", Parser::parseFindCommand);
+        commands.register("delete", Parser::parseDeleteCommand);
+        commands.register("mark", Parser::parseMarkCommand);
+        commands.register("unmark", Parser::parseUnmarkCommand);
+        commands.register("todo", Parser::parseTodoCommand);
+        commands.register("event", Parser::parseEventCommand);
+        commands.register("deadline", Parser::parseDeadlineCommand);
+        commands.register("help", tokens -> new HelpCommand());
+        commands.register("stats", tokens -> new StatsCommand(CommandMetrics.getInstance()));
+        return commands;
+    }
 
     /**
      * Parses the given command and returns the corresponding Command object.
+     * <p>
+     * The command is chosen by its whole first word, so an input such as {@code marker} or {@code todos} is not
+     * mistaken for a command that its first word merely starts with.
+     * The rest of the input is split into words once by a {@link CommandTokenizer} reused across commands, and
+     * each command reads its arguments from those words.
+     * </p>
      *
      * @param command The user input command string to be parsed.
      * @return The appropriate Command object based on the user input.
@@ -38,162 +77,276 @@ public class Parser {
      */
     public static Command parse(String command)
             throws ChattyInvalidCommandException, ChattyInvalidCommandFormatException {
-        if (command.startsWith("bye")) {
-            return new ExitCommand();
-        } else if (command.startsWith("list")) {
-            return new ListCommand();
-        } else if (command.startsWith("find")) {
-            return parseFindCommand(command);
-        } else if (command.startsWith("delete")) {
-            return parseDeleteCommand(command);
-        } else if (command.startsWith("mark")) {
-            return parseMarkCommand(command);
-        } else if (command.startsWith("unmark")) {
-            return parseUnmarkCommand(command);
-        } else if (command.startsWith("todo")) {
-            return parseTodoCommand(command);
-        } else if (command.startsWith("event")) {
-            return parseEventCommand(command);
-        } else if (command.startsWith("deadline")) {
-            return parseDeadlineCommand(command);
-        }
-        if (command.startsWith("help")) {
-            return new HelpCommand();
-        }
-        throw new ChattyInvalidCommandException(command);
-    }
-
-    /**
-     * Parses the "find" command.
-     *
-     * @param command The user input command string.
+        int keywordEnd = CommandTable.keywordEnd(command);
+        ArgumentParser parser = COMMANDS.find(command, keywordEnd);
+        if (parser == null) {
+            throw new ChattyInvalidCommandException(command);
+        }
+        return parser.parse(TOKENIZER.get().tokenize(command, keywordEnd));
+    }
+
+    /**
+     * Registers a new command word, or replaces the parser of a built-in one.
+     * <p>
+     * Commands should be registered at startup, before any input is parsed.
+     * </p>
+     *
+     * @param keyword The command word, which must not contain whitespace.
+     * @param parser  The parser of the arguments following the word.
+     * @throws IllegalArgumentException If the word is empty or contains whitespace.
+     */
+    public static void register(String keyword, ArgumentParser parser) throws IllegalArgumentException {
+        COMMANDS.register(keyword, parser);
+    }
+
+    /**
+     * Registers another word for an existing command, such as {@code rm} for {@code delete}.
+     * <p>
+     * Commands should be registered at startup, before any input is parsed.
+     * </p>
+     *
+     * @param alias   The new command word, which must not contain whitespace.
+     * @param keyword The existing command word it stands for.
+     * @throws IllegalArgumentException If the existing word is not registered or the alias is not a valid word.
+     */
+    public static void registerAlias(String alias, String keyword) throws IllegalArgumentException {
+        COMMANDS.alias(alias, keyword);
+    }
+
+    /**
+     * Parses the "list" command.
+     * <p>
+     * Without arguments the first page is listed. A bare number selects a page, {@code --from} and {@code --limit}
+     * select an arbitrary window, and {@code --type todo|deadline|event}, {@code --done} and {@code --pending}
+     * filter the tasks listed.
+     * </p>
+     *
+     * @param tokens The words after the command word.
+     * @return The corresponding ListCommand.
+     * @throws ChattyInvalidCommandFormatException If an argument is unknown or a number is invalid.
+     */
+    private static Command parseListCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        int page = 0;
+        int from = 1;
+        int limit = ListCommand.PAGE_SIZE;
+        Predicate<Task> filter = null;
+        try {
+            for (int i = 0; i < tokens.getWordCount(); i++) {
+                Predicate<Task> condition = null;
+                if (tokens.wordEquals(i, "--from")) {
+                    from = parsePositive(tokens, ++i);
+                } else if (tokens.wordEquals(i, "--limit")) {
+                    limit = parsePositive(tokens, ++i);
+                } else if (tokens.wordEquals(i, "--done")) {
+                    condition = Task::isCompleted;
+                } else if (tokens.wordEquals(i, "--pending")) {
+                    condition = task -> !task.isCompleted();
+                } else if (tokens.wordEquals(i, "--type")) {
+                    condition = parseTypeFilter(tokens, ++i);
+                } else {
+                    if (page != 0 || !tokens.isDigits(i)) {
+                        throw new ChattyInvalidCommandFormatException(
+                                ChattyInvalidCommandFormatException.CommandType.LIST);
+                    }
+                    page = parsePositive(tokens, i);
+                }
+                if (condition != null) {
+                    filter = filter == null ? condition : filter.and(condition);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.LIST);
+        }
+        if (page != 0) {
+            from = (int) Math.min((long) (page - 1) * limit + 1, Integer.MAX_VALUE);
+        }
+        return new ListCommand(from, limit, filter, page != 0 || from == 1);
+    }
+
+    /**
+     * Parses the positive number at the given position of the arguments.
+     *
+     * @param tokens The arguments.
+     * @param index  The position of the number.
+     * @return The parsed number.
+     * @throws NumberFormatException If there is no argument at the position or it is not a positive number.
+     */
+    private static int parsePositive(CommandTokenizer tokens, int index) throws NumberFormatException {
+        if (index >= tokens.getWordCount()) {
+            throw new NumberFormatException("Missing number");
+        }
+        int value = tokens.parseInt(index);
+        if (value < 1) {
+            throw new NumberFormatException("Not positive: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the filter keeping only tasks of the type named at the given position of the arguments.
+     *
+     * @param tokens The arguments.
+     * @param index  The position of the type name: todo, deadline or event.
+     * @return The corresponding filter.
+     * @throws ChattyInvalidCommandFormatException If the type name is missing or unknown.
+     */
+    private static Predicate<Task> parseTypeFilter(CommandTokenizer tokens, int index)
+            throws ChattyInvalidCommandFormatException {
+        if (index < tokens.getWordCount()) {
+            if (tokens.wordEquals(index, "todo")) {
+                return task -> task instanceof Todo;
+            } else if (tokens.wordEquals(index, "deadline")) {
+                return task -> task instanceof Deadline;
+            } else if (tokens.wordEquals(index, "event")) {
+                return task -> task instanceof Event;
+            }
+        }
+        throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.LIST);
+    }
+
+    /**
+     * Parses the "find" command, or its "find /fuzzy" variant.
+     *
+     * @param tokens The words after the command word.
      * @return The corresponding FindCommand.
      * @throws ChattyInvalidCommandFormatException If the command format is incorrect.
      */
-    private static Command parseFindCommand(String command) throws ChattyInvalidCommandFormatException {
-        String[] parts = command.split(" ");
-        if (parts.length != 2) {
+    private static Command parseFindCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        if (tokens.getWordCount() == 2 && tokens.wordEquals(0, "/fuzzy")) {
+            return new FuzzyFindCommand(tokens.word(1));
+        }
+        if (tokens.getWordCount() != 1) {
             throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.FIND);
         }
-        return new FindCommand(parts[1]);
+        return new FindCommand(tokens.word(0));
     }
 
     /**
-     * Parses the "delete" command.
+     * Parses the "delete" command, for one task or a selection of tasks.
      *
-     * @param command The user input command string.
-     * @return The corresponding DeleteCommand.
+     * @param tokens The words after the command word.
+     * @return The corresponding DeleteCommand, or a BulkCommand for a selection.
+     * @throws ChattyInvalidCommandFormatException If the command format is incorrect.
      */
-    private static Command parseDeleteCommand(String command) throws ChattyInvalidCommandFormatException {
-        String[] commandParts = command.split(" ");
-        if (commandParts.length != 2) {
-            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.DELETE);
+    private static Command parseDeleteCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        if (isTaskNumber(tokens)) {
+            return new DeleteCommand(tokens.parseInt(0));
         }
-        int taskId = Integer.parseInt(commandParts[1]);
-        return new DeleteCommand(taskId);
+        return new BulkCommand(BulkCommand.Action.DELETE,
+                parseSelector(tokens, ChattyInvalidCommandFormatException.CommandType.DELETE));
     }
 
     /**
-     * Parses the "mark" command.
+     * Parses the "mark" command, for one task or a selection of tasks.
      *
-     * @param command The user input command string.
-     * @return The corresponding MarkCommand.
+     * @param tokens The words after the command word.
+     * @return The corresponding MarkCommand, or a BulkCommand for a selection.
      * @throws ChattyInvalidCommandFormatException If the command format is incorrect.
      */
-    private static Command parseMarkCommand(String command) throws ChattyInvalidCommandFormatException {
-        String[] commandParts = command.split(" ");
-        if (commandParts.length != 2) {
-            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.MARK);
+    private static Command parseMarkCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        if (isTaskNumber(tokens)) {
+            return new MarkCommand(tokens.parseInt(0));
         }
-        int taskId = Integer.parseInt(commandParts[1]);
-        return new MarkCommand(taskId);
+        return new BulkCommand(BulkCommand.Action.MARK,
+                parseSelector(tokens, ChattyInvalidCommandFormatException.CommandType.MARK));
     }
 
     /**
-     * Parses the "unmark" command.
+     * Parses the "unmark" command, for one task or a selection of tasks.
      *
-     * @param command The user input command string.
-     * @return The corresponding UnmarkCommand.
+     * @param tokens The words after the command word.
+     * @return The corresponding UnmarkCommand, or a BulkCommand for a selection.
      * @throws ChattyInvalidCommandFormatException If the command format is incorrect.
      */
-    private static Command parseUnmarkCommand(String command) throws ChattyInvalidCommandFormatException {
-        String[] commandParts = command.split(" ");
-        if (commandParts.length != 2) {
-            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.UNMARK);
+    private static Command parseUnmarkCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        if (isTaskNumber(tokens)) {
+            return new UnmarkCommand(tokens.parseInt(0));
+        }
+        return new BulkCommand(BulkCommand.Action.UNMARK,
+                parseSelector(tokens, ChattyInvalidCommandFormatException.CommandType.UNMARK));
+    }
+
+    /**
+     * Returns whether the arguments are a single task number.
+     *
+     * @param tokens The words after the command word.
+     * @return {@code true} if there is one word and it consists of one to nine digits.
+     */
+    private static boolean isTaskNumber(CommandTokenizer tokens) {
+        return tokens.getWordCount() == 1 && tokens.end(0) - tokens.start(0) <= 9 && tokens.isDigits(0);
+    }
+
+    /**
+     * Parses a selection of tasks for a bulk command.
+     *
+     * @param tokens The words after the command word, such as {@code 10-500}, {@code 1,4,9} or
+     *               {@code all /find report}.
+     * @param type   The command the selection belongs to, used to report an invalid format.
+     * @return The parsed selection.
+     * @throws ChattyInvalidCommandFormatException If the selection is not valid.
+     */
+    private static TaskSelector parseSelector(CommandTokenizer tokens,
+            ChattyInvalidCommandFormatException.CommandType type) throws ChattyInvalidCommandFormatException {
+        try {
+            return TaskSelector.parse(tokens);
+        } catch (IllegalArgumentException e) {
+            throw new ChattyInvalidCommandFormatException(type);
         }
-        int taskId = Integer.parseInt(commandParts[1]);
-        return new UnmarkCommand(taskId);
     }
 
     /**
      * Parses the "todo" command.
      *
-     * @param command The user input command string.
+     * @param tokens The words after the command word.
      * @return The corresponding TodoCommand.
      * @throws ChattyInvalidCommandFormatException If no description is provided.
      */
-    private static Command parseTodoCommand(String command) throws ChattyInvalidCommandFormatException {
-        String description = command.substring(4).trim();
-        if (description.isEmpty()) {
+    private static Command parseTodoCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        if (tokens.getWordCount() == 0) {
             throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.TODO);
         }
-        return new TodoCommand(description);
+        return new TodoCommand(tokens.text(0, tokens.getWordCount()));
     }
 
     /**
      * Parses the "event" command.
+     * <p>
+     * The description keeps the whitespace before {@code /from}, as events have always been stored that way.
+     * </p>
      *
-     * @param command The user input command string.
+     * @param tokens The words after the command word.
      * @return The corresponding EventCommand.
      * @throws ChattyInvalidCommandFormatException If the event format is incorrect.
      */
-    private static Command parseEventCommand(String command) throws ChattyInvalidCommandFormatException {
-        String eventDetails = command.substring(5).trim();
-        if (eventDetails.isEmpty()) {
+    private static Command parseEventCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        int from = tokens.indexOf("/from", 0);
+        int to = tokens.indexOf("/to", from + 1);
+        if (from < 1 || to < from + 2 || to == tokens.getWordCount() - 1
+                || tokens.indexOf("/from", from + 1) >= 0 || tokens.indexOf("/to", to + 1) >= 0) {
             throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.EVENT);
         }
-        String[] eventParts = eventDetails.split("/from");
-        if (eventParts.length != 2) {
-            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.EVENT);
-        }
-        for (String part : eventParts) {
-            if (part.isEmpty()) {
-                throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.EVENT);
-            }
-        }
-        String description = eventParts[0];
-        String[] durationParts = eventParts[1].split("/to");
-        for (String part : durationParts) {
-            if (part.trim().isEmpty()) {
-                throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.EVENT);
-            }
-        }
-        String start = durationParts[0].trim();
-        String end = durationParts[1].trim();
+        String description = tokens.slice(tokens.start(0), tokens.start(from));
+        String start = tokens.text(from + 1, to);
+        String end = tokens.text(to + 1, tokens.getWordCount());
         return new EventCommand(description, start, end);
     }
 
     /**
      * Parses the "deadline" command.
      *
-     * @param command The user input command string.
+     * @param tokens The words after the command word.
      * @return The corresponding DeadlineCommand.
      * @throws ChattyInvalidCommandFormatException If the deadline format is incorrect.
      */
-    private static Command parseDeadlineCommand(String command) throws ChattyInvalidCommandFormatException {
-        String deadlineDetails = command.substring(8).trim();
-        if (deadlineDetails.isEmpty()) {
-            throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.DEADLINE);
-        }
-        String[] details = deadlineDetails.split("/by");
-        if (details.length != 2) {
+    private static Command parseDeadlineCommand(CommandTokenizer tokens) throws ChattyInvalidCommandFormatException {
+        int by = tokens.indexOf("/by", 0);
+        if (by < 1 || by == tokens.getWordCount() - 1 || tokens.indexOf("/by", by + 1) >= 0) {
             throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.DEADLINE);
         }
         try {
-            String deadlineDescription = details[0].trim();
-            String dueString = details[1].trim();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm");
-            LocalDateTime deadline = LocalDateTime.parse(dueString, formatter);
+            String deadlineDescription = tokens.text(0, by);
+            String dueString = tokens.text(by + 1, tokens.getWordCount());
+            LocalDateTime deadline = DateTimeFormats.parseInput(dueString);
             return new DeadlineCommand(deadlineDescription, deadline);
         } catch (DateTimeParseException e) {
             throw new ChattyInvalidCommandFormatException(ChattyInvalidCommandFormatException.CommandType.DEADLINE);
@@ -0,0 +1,186 @@
+package chatty.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import chatty.task.TaskList;
+
+/**
+ * The PersistenceWriter class performs storage writes on a dedicated background thread.
+ * <p>
+ * Callers hand over the data to write and return immediately. The writer waits for a short coalescing window
+ * after the first request so that a burst of saves turns into a single write: later full rewrites replace earlier
+ * ones, and journal records are batched into one append. A full rewrite is only encoded on the writer thread, from
+ * the task list's latest snapshot, so a burst of saves also costs a single encoding. {@link #flush()} blocks until
+ * everything submitted so far has been written.
+ * </p>
+ */
+class PersistenceWriter {
+    private final Object lock = new Object();
+    private final Consumer<TaskList> rewriter;
+    private final Consumer<List<String>> appender;
+    private final long coalesceMillis;
+
+    private TaskList pendingRewrite; // Task list to rewrite the store from, if a rewrite is pending.
+    private List<String> pendingAppends = new ArrayList<>(); // Journal records not yet written.
+    private long submittedCount = 0;
+    private long writtenCount = 0;
+    private boolean isFlushRequested = false;
+    private Thread thread;
+
+    /**
+     * Constructs a PersistenceWriter that hands coalesced work to the given write functions.
+     *
+     * @param rewriter       Encodes a task list and writes it, replacing the stored tasks.
+     * @param appender       Appends journal records.
+     * @param coalesceMillis How long to wait for further requests before writing.
+     */
+    PersistenceWriter(Consumer<TaskList> rewriter, Consumer<List<String>> appender, long coalesceMillis) {
+        this.rewriter = rewriter;
+        this.appender = appender;
+        this.coalesceMillis = coalesceMillis;
+    }
+
+    /**
+     * Schedules a full rewrite of the stored tasks, superseding any rewrite that has not been written yet.
+     * <p>
+     * The task list is encoded when the rewrite is written, so the tasks it holds by then are stored, including
+     * changes made after this call.
+     * </p>
+     *
+     * @param tasks The task list to write.
+     */
+    void submitRewrite(TaskList tasks) {
+        synchronized (lock) {
+            pendingRewrite = tasks;
+            pendingAppends.clear(); // The rewrite already contains every earlier change.
+            submit();
+        }
+    }
+
+    /**
+     * Schedules journal records to be appended after any records already pending.
+     *
+     * @param records The journal records to append.
+     */
+    void submitAppend(List<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            pendingAppends.addAll(records);
+            submit();
+        }
+    }
+
+    /**
+     * Blocks until every write submitted before this call has completed.
+     */
+    void flush() {
+        synchronized (lock) {
+            long target = submittedCount;
+            if (writtenCount < target) {
+                isFlushRequested = true;
+                lock.notifyAll();
+            }
+            while (writtenCount < target) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes everything submitted so far, then stops the writer thread.
+     * <p>
+     * A request submitted afterwards starts a new writer thread.
+     * </p>
+     */
+    void close() {
+        flush();
+        Thread writer;
+        synchronized (lock) {
+            writer = thread;
+            thread = null;
+            lock.notifyAll();
+        }
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records a new request and wakes the writer thread, starting it on first use.
+     * Must be called while holding the lock.
+     */
+    private void submit() {
+        submittedCount++;
+        if (thread == null) {
+            thread = new Thread(this::run, "chatty-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        lock.notifyAll();
+    }
+
+    /**
+     * Runs the writer loop: waits for work, lets further requests coalesce, then writes them in one go.
+     */
+    private void run() {
+        while (true) {
+            TaskList rewrite;
+            List<String> appends;
+            long target;
+            synchronized (lock) {
+                try {
+                    while (submittedCount == writtenCount && thread == Thread.currentThread()) {
+                        lock.wait();
+                    }
+                    if (thread != Thread.currentThread()) {
+                        return; // Closed; any later request is handled by a new writer thread.
+                    }
+                    long deadline = System.currentTimeMillis() + coalesceMillis;
+                    long remaining = coalesceMillis;
+                    while (!isFlushRequested && remaining > 0) {
+                        lock.wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                rewrite = pendingRewrite;
+                appends = pendingAppends;
+                target = submittedCount;
+                pendingRewrite = null;
+                pendingAppends = new ArrayList<>();
+                isFlushRequested = false;
+            }
+
+            try {
+                if (rewrite != null) {
+                    rewriter.accept(rewrite);
+                }
+                if (!appends.isEmpty()) {
+                    appender.accept(appends);
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Error saving tasks: " + e.getMessage());
+            }
+
+            synchronized (lock) {
+                writtenCount = target;
+                lock.notifyAll();
+            }
+        }
+    }
+}
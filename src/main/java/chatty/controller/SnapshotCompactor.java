@@ -0,0 +1,252 @@
+package chatty.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import chatty.task.TaskList;
+
+/**
+ * The SnapshotCompactor class folds sealed delta journals into a new snapshot on a background thread.
+ * <p>
+ * When the active journal passes the configured record or byte threshold, it is renamed to a sealed delta
+ * ({@code <file path>.journal.<generation>}) and a fresh journal is started, so the caller only pays for a rename.
+ * A single daemon thread then loads the current snapshot, replays the sealed deltas onto it and atomically replaces
+ * the snapshot with the result, tagged with the generation it now covers. Because the snapshot records its
+ * generation, a crash at any point leaves either the old snapshot plus its deltas or the new snapshot, and a load
+ * never applies a delta twice.
+ * </p>
+ */
+class SnapshotCompactor {
+    private final File snapshot;
+    private final TaskFileFormat format;
+    private final TaskJournal journal;
+    private final StorageConfig config;
+    private final AtomicBoolean isCompacting = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chatty-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> lastCompaction;
+    private volatile boolean mayHaveSealedDeltas = true; // Unknown until first checked, then tracked.
+
+    /**
+     * Constructs a SnapshotCompactor for the given snapshot and active journal.
+     *
+     * @param snapshot The snapshot file.
+     * @param format   The format of the snapshot file.
+     * @param journal  The active delta journal.
+     * @param config   The storage options holding the compaction thresholds.
+     */
+    SnapshotCompactor(File snapshot, TaskFileFormat format, TaskJournal journal, StorageConfig config) {
+        this.snapshot = snapshot;
+        this.format = format;
+        this.journal = journal;
+        this.config = config;
+    }
+
+    /**
+     * Seals the active journal and schedules a compaction if the journal has grown past either threshold.
+     * <p>
+     * Nothing happens while a previous compaction is still running; the journal simply keeps growing until the
+     * next save after it finishes.
+     * </p>
+     */
+    void compactIfNeeded() {
+        boolean isOverThreshold = journal.getRecordCount() >= config.getCompactionRecordThreshold()
+                || journal.getSize() >= config.getCompactionByteThreshold();
+        if (!isOverThreshold || !isCompacting.compareAndSet(false, true)) {
+            return;
+        }
+        long generation = nextGeneration();
+        if (!journal.sealTo(deltaFile(generation))) {
+            isCompacting.set(false);
+            return;
+        }
+        mayHaveSealedDeltas = true;
+        submit(generation);
+    }
+
+    /**
+     * Schedules a compaction of any sealed deltas left behind, e.g. by an exit during a previous compaction.
+     */
+    void compactSealedDeltas() {
+        List<File> deltas = sealedDeltasAfter(journal.getFile(), 0);
+        if (deltas.isEmpty()) {
+            mayHaveSealedDeltas = false;
+            return;
+        }
+        if (!isCompacting.compareAndSet(false, true)) {
+            return;
+        }
+        submit(generationOf(deltas.get(deltas.size() - 1)));
+    }
+
+    /**
+     * Submits a compaction covering every sealed delta up to the given generation.
+     *
+     * @param generation The newest generation to fold into the snapshot.
+     */
+    private void submit(long generation) {
+        lastCompaction = executor.submit(() -> {
+            try {
+                compact(generation);
+            } finally {
+                isCompacting.set(false);
+            }
+        });
+    }
+
+    /**
+     * Folds every sealed delta up to the given generation into a new snapshot.
+     *
+     * @param generation The newest generation to fold into the snapshot.
+     */
+    private void compact(long generation) {
+        TaskList tasks = new TaskList();
+        long snapshotGeneration = 0;
+        try {
+            if (snapshot.exists()) {
+                snapshotGeneration = format.read(snapshot, tasks);
+            }
+        } catch (IOException e) {
+            // Folding deltas into an unreadable snapshot would lose its tasks, so leave everything as it is.
+            System.out.println("Error compacting tasks: " + e.getMessage());
+            return;
+        }
+        for (File delta : sealedDeltasAfter(journal.getFile(), snapshotGeneration)) {
+            if (generationOf(delta) <= generation) {
+                new TaskJournal(delta).replay(tasks);
+            }
+        }
+
+        // Deltas are deleted once the snapshot is replaced, so the replacement must be atomic at any level.
+        StorageConfig.Durability durability = config.getDurability() == StorageConfig.Durability.NONE
+                ? StorageConfig.Durability.FLUSH
+                : config.getDurability();
+        try {
+            DurableFileWriter.write(snapshot, durability, out -> format.write(out, tasks, generation));
+        } catch (IOException e) {
+            System.out.println("Error compacting tasks: " + e.getMessage());
+            return;
+        }
+
+        for (File delta : sealedDeltasAfter(journal.getFile(), 0)) {
+            if (generationOf(delta) <= generation && !delta.delete()) {
+                System.out.println("Error removing compacted journal: " + delta.getPath());
+            }
+        }
+    }
+
+    /**
+     * Returns the sealed deltas of a journal whose generation is newer than the given one, oldest first.
+     *
+     * @param journalFile The active journal file the deltas were sealed from.
+     * @param generation  The generation already covered by the snapshot.
+     * @return The sealed delta files to replay, in generation order.
+     */
+    static List<File> sealedDeltasAfter(File journalFile, long generation) {
+        File directory = journalFile.getAbsoluteFile().getParentFile();
+        String prefix = journalFile.getName() + ".";
+        File[] candidates = directory == null ? null
+                : directory.listFiles((dir, name) -> name.startsWith(prefix)
+                        && name.length() > prefix.length()
+                        && name.substring(prefix.length()).chars().allMatch(Character::isDigit));
+        List<File> deltas = new ArrayList<>();
+        if (candidates != null) {
+            for (File candidate : candidates) {
+                if (generationOf(candidate) > generation) {
+                    deltas.add(candidate);
+                }
+            }
+        }
+        deltas.sort(Comparator.comparingLong(SnapshotCompactor::generationOf));
+        return deltas;
+    }
+
+    /**
+     * Deletes every sealed delta, e.g. after the whole task list has been rewritten.
+     * <p>
+     * The directory is only listed the first time, and again after a journal has been sealed, so rewriting a store
+     * that never uses the journal costs nothing here.
+     * </p>
+     */
+    void clearSealedDeltas() {
+        if (!mayHaveSealedDeltas) {
+            return;
+        }
+        await();
+        boolean isCleared = true;
+        for (File delta : sealedDeltasAfter(journal.getFile(), 0)) {
+            if (!delta.delete()) {
+                System.out.println("Error removing journal: " + delta.getPath());
+                isCleared = false;
+            }
+        }
+        mayHaveSealedDeltas = !isCleared;
+    }
+
+    /**
+     * Returns the total size of the sealed deltas waiting to be compacted.
+     *
+     * @return The size in bytes, or 0 if there are none.
+     */
+    long getSealedDeltaSize() {
+        long size = 0;
+        for (File delta : sealedDeltasAfter(journal.getFile(), 0)) {
+            size += delta.length();
+        }
+        return size;
+    }
+
+    /**
+     * Blocks until the most recently scheduled compaction has finished.
+     */
+    void await() {
+        Future<?> compaction = lastCompaction;
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("Error compacting tasks: " + e.getCause());
+        }
+    }
+
+    /**
+     * Returns the generation to use for the next sealed delta.
+     *
+     * @return A generation newer than the snapshot and every existing sealed delta.
+     */
+    private long nextGeneration() {
+        List<File> deltas = sealedDeltasAfter(journal.getFile(), 0);
+        long newest = deltas.isEmpty() ? 0 : generationOf(deltas.get(deltas.size() - 1));
+        long snapshotGeneration = 0;
+        try {
+            snapshotGeneration = snapshot.exists() ? format.readGeneration(snapshot) : 0;
+        } catch (IOException e) {
+            System.out.println("Error reading tasks: " + e.getMessage());
+        }
+        return Math.max(newest, snapshotGeneration) + 1;
+    }
+
+    private File deltaFile(long generation) {
+        return new File(journal.getFile().getPath() + "." + generation);
+    }
+
+    private static long generationOf(File delta) {
+        String name = delta.getName();
+        return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+    }
+}
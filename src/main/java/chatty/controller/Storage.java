@@ -1,16 +1,12 @@
 package chatty.controller;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
-import chatty.task.Deadline;
-import chatty.task.Event;
+import chatty.task.TaskChange;
 import chatty.task.TaskList;
-import chatty.task.Todo;
 
 /**
  * The Storage class handles loading and saving tasks to/from a CSV file.
@@ -19,9 +15,44 @@ import chatty.task.Todo;
  * It provides methods to load tasks from an existing CSV file or create a new task list if the file is not found,
  * and to save the current task list back into the file.
  * </p>
+ * <p>
+ * With {@link StorageConfig.Format#BINARY}, tasks are stored in a compact binary file next to the CSV path
+ * ({@code tasks.bin} for {@code tasks.csv}) instead. If the configured file does not exist yet but the file of the
+ * other format does, its tasks are migrated automatically and the old file is kept with a {@code .migrated} suffix.
+ * </p>
+ * <p>
+ * In {@link StorageConfig.Mode#JOURNAL} mode the store file acts as a snapshot and saving appends only the changes
+ * made since the last save to a delta journal ({@code <store file>.journal}). Once the journal grows past the
+ * configured thresholds it is sealed and a background {@link SnapshotCompactor} folds it into a new snapshot,
+ * so both saving and loading stay cheap as the store ages.
+ * </p>
+ * <p>
+ * With lazy loading enabled, a binary store is memory-mapped and each task is decoded only when it is first used,
+ * so startup takes the same time however many tasks are stored. Large CSV stores can instead be parsed in
+ * parallel chunks on several cores.
+ * </p>
+ * <p>
+ * With asynchronous writes enabled, the data to persist is captured on the calling thread and handed to a
+ * {@link PersistenceWriter}, which coalesces bursts of saves into a single write off the calling thread.
+ * Call {@link #flush()} to wait for pending writes to reach the file.
+ * </p>
+ * <p>
+ * How hard each write tries to survive a crash is set by {@link StorageConfig.Durability}: full rewrites go through
+ * a temporary file and an atomic rename, and are additionally forced to disk at the {@code FSYNC} level.
+ * </p>
  */
 public class Storage {
     private String filePath = "./data/tasks.csv";
+    private final StorageConfig config;
+    private final TaskFileFormat format;
+    private final File storeFile;
+    private final TaskJournal journal;
+    private final SnapshotCompactor compactor;
+    private final PersistenceWriter persistenceWriter; // Only set when asynchronous writes are enabled.
+    private final Thread shutdownHook; // Flushes the writer if the JVM exits before shutdown(), or null.
+    private int batchDepth = 0; // Number of batches begun and not yet ended.
+    private TaskList deferredTasks; // The task list to save when the outermost batch ends, if it changed.
+    private long saveNanos = 0; // Time spent saving since it was last taken, for the command metrics.
 
     /**
      * Constructs a Storage object with a specified file path for task storage.
@@ -29,82 +60,377 @@ public class Storage {
      * @param filePath The path to the file where tasks will be loaded from or saved to.
      */
     public Storage(String filePath) {
+        this(filePath, StorageConfig.defaults());
+    }
+
+    /**
+     * Constructs a Storage object with a specified file path and configuration.
+     *
+     * @param filePath The path to the CSV file where tasks will be loaded from or saved to. Binary stores use the
+     *                 same path with a {@code .bin} extension.
+     * @param config   The storage options to use.
+     */
+    public Storage(String filePath, StorageConfig config) {
         this.filePath = filePath;
+        this.config = config;
+        this.format = formatOf(config.getFormat());
+        this.storeFile = storeFileOf(config.getFormat());
+        this.journal = new TaskJournal(journalFileOf(storeFile));
+        this.compactor = new SnapshotCompactor(storeFile, format, journal, config);
+        if (config.isAsyncWrites()) {
+            this.persistenceWriter = new PersistenceWriter(this::rewriteTasks, this::appendToJournal,
+                    config.getCoalesceMillis());
+            this.shutdownHook = new Thread(persistenceWriter::flush, "chatty-writer-flush");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else {
+            this.persistenceWriter = null;
+            this.shutdownHook = null;
+        }
     }
 
     /**
-     * Loads tasks from the specified CSV file into a TaskList object.
+     * Loads tasks from the store file into a TaskList object.
      * <p>
      * If the file does not exist, a new TaskList is returned.
-     * Each line in the CSV file is parsed to determine the type of task (Todo, Deadline, Event),
-     * and appropriate task objects are created and added to the TaskList.
+     * Each task in the file is decoded to determine its type (Todo, Deadline, Event),
+     * and appropriate task objects are created and added to the TaskList. Any sealed deltas newer than the
+     * snapshot and the active journal are then replayed on top of the loaded tasks.
      * </p>
      *
-     * @return A TaskList object containing all tasks loaded from the CSV file.
+     * @return A TaskList object containing all tasks loaded from the store file.
      */
     public TaskList loadTasks() {
-        TaskList tasks = new TaskList();
-        File file = new File(filePath);
-
-        if (!file.exists()) {
-            System.out.println("No existing tasks found. Creating a new local csv for storage");
-            return tasks;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) { // Ignore empty lines
-                    try {
-                        char taskType = line.charAt(0);
-                        switch (taskType) {
-                        case 'T':
-                            tasks.add(Todo.fromCsv(line));
-                            break;
-                        case 'D':
-                            tasks.add(Deadline.fromCsv(line));
-                            break;
-                        case 'E':
-                            tasks.add(Event.fromCsv(line));
-                            break;
-                        default:
-                            System.out.println("Skipping unknown chatty.task type: " + line);
-                        }
-                    } catch (IllegalArgumentException e) {
-                        System.out.println("Skipping corrupted line: " + line);
-                    }
-                }
+        migrateIfNeeded();
+
+        TaskList tasks = mapStore();
+        if (tasks == null) {
+            tasks = new TaskList(config.getBacking());
+            if (!storeFile.exists()) {
+                System.out.println("No existing tasks found. Creating a new local csv for storage");
             }
+            readStore(storeFile, format, journal, tasks);
+        }
+        tasks.drainChanges(); // Everything just loaded is already persisted.
+
+        if (config.getMode() == StorageConfig.Mode.JOURNAL) {
+            compactor.compactSealedDeltas(); // Finish any compaction interrupted by a previous exit.
+        }
+        return tasks;
+    }
+
+    /**
+     * Memory-maps the store file and replays its journals on top, if lazy loading applies.
+     * <p>
+     * Lazy loading needs a binary store written with an offset index, and a durability level that replaces the
+     * store file instead of overwriting the mapped contents in place.
+     * </p>
+     *
+     * @return The lazily loaded tasks, or {@code null} if the store must be loaded eagerly.
+     */
+    private TaskList mapStore() {
+        if (!config.isLazyLoad() || !(format instanceof BinaryTaskFormat) || !storeFile.exists()
+                || config.getDurability() == StorageConfig.Durability.NONE) {
+            return null;
+        }
+        MappedTaskList mapped;
+        try {
+            mapped = ((BinaryTaskFormat) format).map(storeFile);
         } catch (IOException e) {
-            System.out.println("Error reading tasks: " + e.getMessage());
+            System.out.println("Error mapping tasks: " + e.getMessage());
+            return null;
         }
+        if (mapped == null) {
+            return null;
+        }
+        TaskList tasks = TaskList.backedBy(mapped);
+        replayJournals(journal, mapped.getGeneration(), tasks);
         return tasks;
     }
 
     /**
-     * Saves the current TaskList into a CSV file.
+     * Reads a store's snapshot, then replays its newer sealed deltas and its active journal.
+     *
+     * @param store   The snapshot file, which may not exist.
+     * @param format  The format of the snapshot file.
+     * @param journal The active journal of the store.
+     * @param tasks   The task list to load the tasks into.
+     */
+    private static void readStore(File store, TaskFileFormat format, TaskJournal journal, TaskList tasks) {
+        long generation = 0;
+        if (store.exists()) {
+            try {
+                generation = format.read(store, tasks);
+            } catch (IOException e) {
+                System.out.println("Error reading tasks: " + e.getMessage());
+            }
+        }
+        replayJournals(journal, generation, tasks);
+    }
+
+    /**
+     * Replays the sealed deltas newer than a snapshot, then the active journal.
+     *
+     * @param journal    The active journal of the store.
+     * @param generation The generation of the snapshot the tasks were loaded from.
+     * @param tasks      The task list to apply the changes to.
+     */
+    private static void replayJournals(TaskJournal journal, long generation, TaskList tasks) {
+        for (File delta : SnapshotCompactor.sealedDeltasAfter(journal.getFile(), generation)) {
+            new TaskJournal(delta).replay(tasks);
+        }
+        journal.replay(tasks);
+    }
+
+    /**
+     * Migrates the tasks from the other format's store file if the configured store file does not exist yet.
+     * <p>
+     * The migrated tasks are written durably to the configured store file before the old store file is renamed
+     * with a {@code .migrated} suffix and its journals are removed, so an interrupted migration is simply redone.
+     * </p>
+     */
+    private void migrateIfNeeded() {
+        StorageConfig.Format otherFormat = config.getFormat() == StorageConfig.Format.CSV
+                ? StorageConfig.Format.BINARY
+                : StorageConfig.Format.CSV;
+        File otherFile = storeFileOf(otherFormat);
+        if (storeFile.exists() || !otherFile.exists()) {
+            return;
+        }
+
+        TaskJournal otherJournal = new TaskJournal(journalFileOf(otherFile));
+        TaskList tasks = new TaskList();
+        readStore(otherFile, formatOf(otherFormat), otherJournal, tasks);
+        try {
+            DurableFileWriter.write(storeFile, StorageConfig.Durability.FSYNC, out -> format.write(out, tasks, 0));
+            DurableFileWriter.moveAtomically(otherFile, new File(otherFile.getPath() + ".migrated"));
+        } catch (IOException e) {
+            System.out.println("Error migrating tasks: " + e.getMessage());
+            return;
+        }
+        otherJournal.clear();
+        for (File delta : SnapshotCompactor.sealedDeltasAfter(otherJournal.getFile(), 0)) {
+            if (!delta.delete()) {
+                System.out.println("Error removing journal: " + delta.getPath());
+            }
+        }
+        System.out.println("Migrated " + tasks.getNumOfTasks() + " tasks from " + otherFile.getPath()
+                + " to " + storeFile.getPath());
+    }
+
+    /**
+     * Saves the current TaskList into the store file.
      * <p>
-     * This method converts each task in the TaskList into its CSV representation and writes it to the specified file.
+     * This method encodes every task in the TaskList and writes it to the store file.
      * If the parent directories of the file path do not exist, they are created.
+     * In journal mode only the changes made since the last save are appended to the journal, and a background
+     * compaction is scheduled once the journal grows too large. With asynchronous writes enabled, the write itself
+     * happens later on the writer thread. Inside a batch, the save is deferred until the batch ends.
      * </p>
      *
      * @param tasks The TaskList object containing the tasks to be saved.
      */
     public void saveTasks(TaskList tasks) {
-        File file = new File(filePath);
-        file.getParentFile().mkdirs();
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            String[] taskStrings = tasks.toCsv();
-            for (String taskString : taskStrings) {
-                writer.write(taskString);
-                writer.newLine();
+        if (batchDepth > 0) {
+            deferredTasks = tasks;
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            writeTasks(tasks);
+        } finally {
+            saveNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Writes the TaskList to the store file or journal, or hands it to the writer thread.
+     *
+     * @param tasks The TaskList object containing the tasks to be saved.
+     */
+    private void writeTasks(TaskList tasks) {
+        if (config.getMode() == StorageConfig.Mode.JOURNAL) {
+            List<String> records = new ArrayList<>();
+            for (TaskChange change : tasks.drainChanges()) {
+                records.add(change.toJournal());
+            }
+            if (persistenceWriter != null) {
+                persistenceWriter.submitAppend(records);
+            } else {
+                appendToJournal(records);
             }
+            return;
+        }
+        tasks.drainChanges(); // A full rewrite persists every pending change at once.
+
+        if (persistenceWriter != null) {
+            persistenceWriter.submitRewrite(tasks);
+        } else {
+            rewriteTasks(tasks);
+        }
+    }
+
+    /**
+     * Returns the time spent saving since the last call, and starts counting again from zero.
+     * <p>
+     * With asynchronous writes enabled this only covers handing the save to the writer thread.
+     * Saves deferred by a batch are counted when the batch ends.
+     * </p>
+     *
+     * @return The time spent in {@link #saveTasks(TaskList)} in nanoseconds.
+     */
+    public long takeSaveNanos() {
+        long nanos = saveNanos;
+        saveNanos = 0;
+        return nanos;
+    }
+
+    /**
+     * Returns the space the saved tasks take on disk, counting the store file, its journal and any sealed deltas
+     * not yet compacted into the store file.
+     *
+     * @return The size in bytes, or 0 if nothing has been saved yet.
+     */
+    public long getStoreSize() {
+        return storeFile.length() + journal.getSize() + compactor.getSealedDeltaSize();
+    }
+
+    /**
+     * Begins a batch of commands whose saves are combined into one.
+     * <p>
+     * Until the matching {@link #endBatch()}, {@link #saveTasks(TaskList)} only remembers that the task list must be
+     * saved. The changes stay pending in the task list, so the save at the end of the batch persists all of them at
+     * once. Batches may be nested; only the outermost one saves.
+     * </p>
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of commands, saving the task list once if any command in the batch asked for a save.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            return;
+        }
+        batchDepth--;
+        if (batchDepth == 0 && deferredTasks != null) {
+            TaskList tasks = deferredTasks;
+            deferredTasks = null;
+            saveTasks(tasks);
+        }
+    }
+
+    /**
+     * Blocks until every save requested so far has been written to the file.
+     * <p>
+     * Saves are written immediately unless asynchronous writes are enabled, in which case this waits for the
+     * writer thread to catch up. It should be called before the application exits.
+     * </p>
+     */
+    public void flush() {
+        if (persistenceWriter != null) {
+            persistenceWriter.flush();
+        }
+    }
+
+    /**
+     * Writes every pending save and stops the background writer.
+     * <p>
+     * With asynchronous writes enabled, this also removes the shutdown hook that would otherwise flush the writer
+     * when the JVM exits, so the storage and its tasks can be garbage collected. It should be called once the
+     * storage is no longer used; a later save starts the writer again but is no longer flushed at exit.
+     * </p>
+     */
+    public void shutdown() {
+        if (persistenceWriter == null) {
+            return;
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down and runs the hook itself.
+        }
+        persistenceWriter.close();
+    }
+
+    /**
+     * Appends journal records and schedules a compaction if the journal has grown too large.
+     *
+     * @param records The journal records to append.
+     */
+    private void appendToJournal(List<String> records) {
+        journal.append(records, config.getDurability() == StorageConfig.Durability.FSYNC);
+        compactor.compactIfNeeded();
+    }
+
+    /**
+     * Replaces the contents of the store file with the tasks in the list, encoded in the configured format.
+     *
+     * @param tasks The tasks to write.
+     */
+    private void rewriteTasks(TaskList tasks) {
+        rewrite(out -> format.write(out, tasks, 0));
+    }
+
+    /**
+     * Replaces the contents of the store file with what the body writes.
+     * <p>
+     * Unless durability is disabled, the contents are written to a temporary file which then atomically replaces
+     * the store file, so a crash mid-write never leaves a truncated task list behind.
+     * </p>
+     *
+     * @param body The code writing every task.
+     */
+    private void rewrite(DurableFileWriter.Body body) {
+        try {
+            DurableFileWriter.write(storeFile, config.getDurability(), body);
         } catch (IOException e) {
             System.out.println("Error saving tasks: " + e.getMessage());
+            return;
         }
+        // The rewritten file already reflects every journalled change.
+        journal.clear();
+        compactor.clearSealedDeltas();
     }
 
-}
+    /**
+     * Blocks until any background compaction has finished.
+     * <p>
+     * This is mainly useful for tests that need to observe the compacted files.
+     * </p>
+     */
+    void awaitCompaction() {
+        flush();
+        compactor.await();
+    }
+
+    private TaskFileFormat formatOf(StorageConfig.Format format) {
+        if (format == StorageConfig.Format.BINARY) {
+            return new BinaryTaskFormat();
+        }
+        return new CsvTaskFormat(config.isParallelLoad());
+    }
+
+    /**
+     * Returns the store file used by the given format.
+     * <p>
+     * CSV stores use the configured file path as-is; binary stores replace its {@code .csv} extension with
+     * {@code .bin}, or append {@code .bin} if it has none.
+     * </p>
+     *
+     * @param format The store format.
+     * @return The store file.
+     */
+    private File storeFileOf(StorageConfig.Format format) {
+        if (format == StorageConfig.Format.CSV) {
+            return new File(filePath);
+        }
+        String base = filePath.endsWith(".csv") ? filePath.substring(0, filePath.length() - 4) : filePath;
+        return new File(base + ".bin");
+    }
 
+    private static File journalFileOf(File store) {
+        return new File(store.getPath() + ".journal");
+    }
+}
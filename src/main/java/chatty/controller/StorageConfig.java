@@ -0,0 +1,315 @@
+package chatty.controller;
+
+import chatty.task.TaskList;
+
+/**
+ * The StorageConfig class holds the tunable options used by {@link Storage}.
+ * <p>
+ * A configuration starts out with the defaults, which match the original behaviour of rewriting the whole
+ * CSV file on every save. Options can be changed through the chained setters, or read from
+ * {@code chatty.storage.*} system properties so they can be chosen when the application is launched.
+ * </p>
+ */
+public class StorageConfig {
+
+    /**
+     * Enum representing how mutations are persisted.
+     * <p>
+     * {@code REWRITE} rewrites the whole task file on every save, while {@code JOURNAL} appends one record
+     * per mutation to a journal file next to the task file.
+     * </p>
+     */
+    public enum Mode {
+        REWRITE,
+        JOURNAL
+    }
+
+    /**
+     * Enum representing how hard a save tries to survive a crash.
+     * <p>
+     * {@code NONE} overwrites the task file in place, which is fastest but can leave a truncated file if the
+     * application dies mid-write. {@code FLUSH} writes to a temporary file and atomically renames it over the task
+     * file, which survives an application crash. {@code FSYNC} additionally forces the data to disk before the
+     * rename, which also survives a power loss or operating system crash, at the cost of waiting for the disk on
+     * every save.
+     * </p>
+     * <p>
+     * The default is {@code FSYNC}, so a saved list is never lost. Throughput-sensitive runs, such as a headless
+     * batch import, can opt down to {@code FLUSH} or {@code NONE} through {@code chatty.storage.durability}.
+     * </p>
+     */
+    public enum Durability {
+        NONE,
+        FLUSH,
+        FSYNC
+    }
+
+    /**
+     * Enum representing the on-disk encoding of the task file.
+     * <p>
+     * {@code CSV} is human-readable, while {@code BINARY} is a compact versioned layout that loads much faster.
+     * </p>
+     */
+    public enum Format {
+        CSV,
+        BINARY
+    }
+
+    private Mode mode = Mode.REWRITE;
+    private Format format = Format.CSV;
+    private Durability durability = Durability.FSYNC;
+    private int compactionRecordThreshold = 10_000;
+    private long compactionByteThreshold = 1024 * 1024;
+    private boolean isAsyncWrites = false;
+    private long coalesceMillis = 200;
+    private boolean isLazyLoad = false;
+    private boolean isParallelLoad = false;
+    private TaskList.Backing backing = TaskList.Backing.ARRAY;
+
+    /**
+     * Returns a configuration with every option set to its default value.
+     *
+     * @return A new default configuration.
+     */
+    public static StorageConfig defaults() {
+        return new StorageConfig();
+    }
+
+    /**
+     * Returns a configuration built from the {@code chatty.storage.*} system properties.
+     * <p>
+     * Unset properties, and properties holding unsupported values, keep their default values.
+     * Supported properties are: {@code chatty.storage.mode} ({@code rewrite} or {@code journal}),
+     * {@code chatty.storage.compactRecords}, {@code chatty.storage.compactBytes}, {@code chatty.storage.async}
+     * ({@code true} or {@code false}), {@code chatty.storage.coalesceMillis} and {@code chatty.storage.durability}
+     * ({@code none}, {@code flush} or {@code fsync}), {@code chatty.storage.format} ({@code csv} or {@code binary})
+     * {@code chatty.storage.lazy} ({@code true} or {@code false}), {@code chatty.storage.parallelLoad}
+     * ({@code true} or {@code false}) and {@code chatty.storage.backing} ({@code array} or {@code tree}).
+     * </p>
+     *
+     * @return A new configuration reflecting the system properties.
+     */
+    public static StorageConfig fromSystemProperties() {
+        StorageConfig config = new StorageConfig();
+        config.setMode(readEnum("chatty.storage.mode", Mode.class, config.getMode()));
+        config.setCompactionRecordThreshold((int) readLong("chatty.storage.compactRecords",
+                config.getCompactionRecordThreshold()));
+        config.setCompactionByteThreshold(readLong("chatty.storage.compactBytes",
+                config.getCompactionByteThreshold()));
+        config.setAsyncWrites(Boolean.parseBoolean(System.getProperty("chatty.storage.async",
+                String.valueOf(config.isAsyncWrites()))));
+        config.setCoalesceMillis(readLong("chatty.storage.coalesceMillis", config.getCoalesceMillis()));
+        config.setDurability(readEnum("chatty.storage.durability", Durability.class, config.getDurability()));
+        config.setFormat(readEnum("chatty.storage.format", Format.class, config.getFormat()));
+        config.setLazyLoad(Boolean.parseBoolean(System.getProperty("chatty.storage.lazy",
+                String.valueOf(config.isLazyLoad()))));
+        config.setParallelLoad(Boolean.parseBoolean(System.getProperty("chatty.storage.parallelLoad",
+                String.valueOf(config.isParallelLoad()))));
+        config.setBacking(readEnum("chatty.storage.backing", TaskList.Backing.class, config.getBacking()));
+        return config;
+    }
+
+    /**
+     * Reads an enum-valued system property, falling back to a default if it is unset or invalid.
+     *
+     * @param key          The system property name.
+     * @param type         The enum class of the value.
+     * @param defaultValue The value to use if the property is unset or invalid.
+     * @return The parsed value, or the default.
+     */
+    private static <E extends Enum<E>> E readEnum(String key, Class<E> type, E defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ignoring invalid value for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a positive integer system property, falling back to a default if it is unset or invalid.
+     *
+     * @param key          The system property name.
+     * @param defaultValue The value to use if the property is unset or invalid.
+     * @return The parsed value, or the default.
+     */
+    private static long readLong(String key, long defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed > 0 && parsed <= Integer.MAX_VALUE) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the warning below.
+        }
+        System.out.println("Ignoring invalid value for " + key + ": " + value);
+        return defaultValue;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets how mutations are persisted.
+     *
+     * @param mode The persistence mode.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setMode(Mode mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    public int getCompactionRecordThreshold() {
+        return compactionRecordThreshold;
+    }
+
+    /**
+     * Sets how many journal records may accumulate before the journal is compacted into a new snapshot.
+     *
+     * @param threshold The maximum number of records in the active journal.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setCompactionRecordThreshold(int threshold) {
+        this.compactionRecordThreshold = threshold;
+        return this;
+    }
+
+    public long getCompactionByteThreshold() {
+        return compactionByteThreshold;
+    }
+
+    /**
+     * Sets how large the journal may grow, in bytes, before it is compacted into a new snapshot.
+     *
+     * @param threshold The maximum size of the active journal in bytes.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setCompactionByteThreshold(long threshold) {
+        this.compactionByteThreshold = threshold;
+        return this;
+    }
+
+    public boolean isAsyncWrites() {
+        return isAsyncWrites;
+    }
+
+    /**
+     * Sets whether saves are written by a background writer instead of on the calling thread.
+     *
+     * @param isAsyncWrites {@code true} to write asynchronously.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setAsyncWrites(boolean isAsyncWrites) {
+        this.isAsyncWrites = isAsyncWrites;
+        return this;
+    }
+
+    public long getCoalesceMillis() {
+        return coalesceMillis;
+    }
+
+    /**
+     * Sets how long the background writer waits for further saves before writing, so bursts become one write.
+     *
+     * @param coalesceMillis The coalescing window in milliseconds.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setCoalesceMillis(long coalesceMillis) {
+        this.coalesceMillis = coalesceMillis;
+        return this;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Sets how hard each save tries to survive a crash, trading safety for write throughput.
+     *
+     * @param durability The durability level.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setDurability(Durability durability) {
+        this.durability = durability;
+        return this;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the on-disk encoding of the task file. Existing tasks are migrated automatically on the next load.
+     *
+     * @param format The file format.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setFormat(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    public boolean isLazyLoad() {
+        return isLazyLoad;
+    }
+
+    /**
+     * Sets whether loading memory-maps the task file and decodes each task only when it is first accessed.
+     * <p>
+     * This makes startup time independent of the number of stored tasks. It only applies to the
+     * {@link Format#BINARY} format with a durability other than {@link Durability#NONE}, since the mapped file
+     * must be replaced rather than overwritten in place; otherwise tasks are loaded eagerly. While mapped, the task
+     * file stays open, so platforms that cannot replace open files, such as Windows, should leave this off.
+     * </p>
+     *
+     * @param isLazyLoad {@code true} to load lazily.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setLazyLoad(boolean isLazyLoad) {
+        this.isLazyLoad = isLazyLoad;
+        return this;
+    }
+
+    public boolean isParallelLoad() {
+        return isParallelLoad;
+    }
+
+    /**
+     * Sets whether large CSV files are split into line-aligned chunks that are parsed on several cores.
+     * <p>
+     * Tasks keep their original order. Small files, and files in the binary format, are always read sequentially.
+     * </p>
+     *
+     * @param isParallelLoad {@code true} to parse large CSV files in parallel.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setParallelLoad(boolean isParallelLoad) {
+        this.isParallelLoad = isParallelLoad;
+        return this;
+    }
+
+    public TaskList.Backing getBacking() {
+        return backing;
+    }
+
+    /**
+     * Sets the data structure loaded task lists are held in. A lazily loaded list keeps its own structure.
+     *
+     * @param backing The data structure for loaded task lists.
+     * @return This configuration, for chaining.
+     */
+    public StorageConfig setBacking(TaskList.Backing backing) {
+        this.backing = backing;
+        return this;
+    }
+}
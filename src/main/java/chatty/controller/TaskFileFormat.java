@@ -0,0 +1,53 @@
+package chatty.controller;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import chatty.task.TaskList;
+
+/**
+ * Represents an on-disk encoding of a task snapshot.
+ * <p>
+ * A snapshot holds every task in order together with its generation, i.e. the newest sealed journal delta folded
+ * into it (0 if none). {@link Storage} reads and writes snapshots only through this interface, so the store file
+ * can use any of the available formats.
+ * </p>
+ */
+interface TaskFileFormat {
+
+    /**
+     * Reads every task in the given snapshot file into the task list.
+     * <p>
+     * Corrupted tasks are skipped where the format allows it.
+     * </p>
+     *
+     * @param file  The snapshot file to read.
+     * @param tasks The task list to add the tasks to.
+     * @return The generation of the snapshot.
+     * @throws IOException If the file cannot be read or is not in this format.
+     */
+    long read(File file, TaskList tasks) throws IOException;
+
+    /**
+     * Reads only the generation of the given snapshot file.
+     *
+     * @param file The snapshot file to read.
+     * @return The generation of the snapshot, or 0 if it has none.
+     * @throws IOException If the file cannot be read or is not in this format.
+     */
+    long readGeneration(File file) throws IOException;
+
+    /**
+     * Writes a snapshot of the given tasks to the output stream.
+     * <p>
+     * Implementations flush any wrapper they create but leave the stream open.
+     * </p>
+     *
+     * @param out        The stream to write to.
+     * @param tasks      The tasks to write.
+     * @param generation The generation of the snapshot.
+     * @throws IOException If writing fails.
+     */
+    void write(OutputStream out, TaskList tasks, long generation) throws IOException;
+}
@@ -0,0 +1,166 @@
+package chatty.controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.List;
+
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.Task;
+import chatty.task.TaskChange;
+import chatty.task.TaskList;
+
+/**
+ * The TaskJournal class manages an append-only log of {@link TaskChange} records.
+ * <p>
+ * Each mutation is written as one line, so persisting a change costs a single append no matter how many tasks
+ * exist. Replaying the journal on top of the task file restores the latest state of the task list.
+ * </p>
+ */
+class TaskJournal {
+    private final File file;
+    private int recordCount = 0; // Records written to the journal file that this instance knows of.
+
+    /**
+     * Constructs a TaskJournal backed by the given file.
+     *
+     * @param file The journal file.
+     */
+    TaskJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Appends the given records to the end of the journal, creating it if needed.
+     *
+     * @param records  The journal lines of the changes to append, in the order they were applied.
+     * @param isForced Whether to force the appended records to disk before returning.
+     */
+    void append(List<String> records, boolean isForced) {
+        if (records.isEmpty()) {
+            return;
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        try (FileOutputStream out = new FileOutputStream(file, true);
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out))) {
+            for (String record : records) {
+                writer.write(record);
+                writer.newLine();
+                recordCount++;
+            }
+            writer.flush();
+            if (isForced) {
+                out.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            System.out.println("Error appending to journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays every record in the journal onto the given task list.
+     * <p>
+     * Records that cannot be parsed or that refer to a task that does not exist are skipped.
+     * </p>
+     *
+     * @param tasks The task list to apply the recorded changes to.
+     */
+    void replay(TaskList tasks) {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    apply(line.trim(), tasks);
+                    recordCount++;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a single journal record to the task list.
+     *
+     * @param line  The journal record.
+     * @param tasks The task list to modify.
+     */
+    private void apply(String line, TaskList tasks) {
+        try {
+            if (line.length() < 3 || line.charAt(1) != ',') {
+                throw new IllegalArgumentException("Corrupted record: " + line);
+            }
+            String payload = line.substring(2);
+            switch (TaskChange.Type.fromTag(line.charAt(0))) {
+            case ADD:
+                Task task = CsvTaskFormat.parseTask(payload);
+                if (task == null) {
+                    throw new IllegalArgumentException("Unknown task type: " + payload);
+                }
+                tasks.add(task);
+                break;
+            case MARK:
+                tasks.mark(Integer.parseInt(payload));
+                break;
+            case UNMARK:
+                tasks.unmark(Integer.parseInt(payload));
+                break;
+            case DELETE:
+                tasks.delete(Integer.parseInt(payload));
+                break;
+            default:
+                throw new IllegalArgumentException("Corrupted record: " + line);
+            }
+        } catch (IllegalArgumentException | ChattyTaskNotFoundException e) {
+            System.out.println("Skipping corrupted journal record: " + line);
+        }
+    }
+
+    /**
+     * Deletes the journal file, discarding every record in it.
+     */
+    void clear() {
+        if (file.exists() && !file.delete()) {
+            System.out.println("Error clearing journal: " + file.getPath());
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Renames the journal file to the given target so that later appends start a fresh journal.
+     *
+     * @param target The file the current journal should be moved to.
+     * @return {@code true} if the journal was sealed, {@code false} if there was nothing to seal or the rename failed.
+     */
+    boolean sealTo(File target) {
+        if (!file.exists() || !file.renameTo(target)) {
+            return false;
+        }
+        recordCount = 0;
+        return true;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    long getSize() {
+        return file.length();
+    }
+}
@@ -41,22 +41,26 @@ public class ChattyInvalidCommandFormatException extends ChattyException {
             DEADLINE.correctFormat = "deadline <task description> /by <dd/mm/yyyy hhmm>";
             DEADLINE.example = "deadline Submit report /by 01/03/2025 1800";
 
-            MARK.correctFormat = "mark <task number>";
-            MARK.example = "mark 2";
+            MARK.correctFormat = "mark <task number>, mark <numbers and ranges, e.g. 1,4-9> or mark all"
+                    + " [/find <keyword>]";
+            MARK.example = "mark all /find report";
 
-            UNMARK.correctFormat = "unmark <task number>";
-            UNMARK.example = "unmark 2";
+            UNMARK.correctFormat = "unmark <task number>, unmark <numbers and ranges, e.g. 1,4-9> or unmark all"
+                    + " [/find <keyword>]";
+            UNMARK.example = "unmark 1,4,9";
 
-            LIST.correctFormat = "list";
-            LIST.example = "list";
+            LIST.correctFormat = "list [page] [--from <number>] [--limit <number>] [--type todo|deadline|event]"
+                    + " [--done|--pending]";
+            LIST.example = "list --type deadline --pending";
 
             BYE.correctFormat = "bye";
             BYE.example = "bye";
 
-            DELETE.correctFormat = "delete <task number>";
-            DELETE.example = "delete 3";
+            DELETE.correctFormat = "delete <task number>, delete <numbers and ranges, e.g. 1,4-9> or delete all"
+                    + " [/find <keyword>]";
+            DELETE.example = "delete 10-500";
 
-            FIND.correctFormat = "find <keyword>";
+            FIND.correctFormat = "find <keyword> or find /fuzzy <word>";
             FIND.example = "find groceries";
         }
 
@@ -0,0 +1,187 @@
+package chatty.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The CommandMetrics class collects how long each type of command takes and how often commands fail.
+ * <p>
+ * For every command type a {@link LatencyHistogram} is kept for each {@link Stage}, from which the {@code stats}
+ * command reports the median and 99th percentile. Failures are counted by exception class. All methods are safe to
+ * call from any thread, so the counters can be read while commands are running.
+ * </p>
+ * <p>
+ * The metrics are shared by the whole application through {@link #getInstance()}. If the system property
+ * {@value #JMX_PROPERTY} is {@code true}, the shared instance is also registered with the platform MBean server as
+ * {@value #OBJECT_NAME}, so the same numbers can be watched from JConsole or any other JMX client.
+ * </p>
+ */
+public class CommandMetrics implements CommandMetricsView {
+    public static final String JMX_PROPERTY = "chatty.metrics.jmx";
+    public static final String OBJECT_NAME = "chatty:type=CommandMetrics";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, Map<Stage, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Enum representing the stages a command's handling is timed in.
+     */
+    public enum Stage {
+        PARSE,
+        EXECUTE,
+        FORMAT,
+        SAVE,
+        TOTAL
+    }
+
+    /**
+     * Holds the shared instance, created and optionally exported the first time it is used.
+     */
+    private static class Holder {
+        private static final CommandMetrics INSTANCE = createShared();
+    }
+
+    /**
+     * Returns the metrics shared by the whole application.
+     *
+     * @return The shared metrics.
+     */
+    public static CommandMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static CommandMetrics createShared() {
+        CommandMetrics metrics = new CommandMetrics();
+        if (Boolean.getBoolean(JMX_PROPERTY)) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.out.println("Error exporting metrics over JMX: " + e.getMessage());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Records the time taken by one command that completed.
+     * <p>
+     * The total is the sum of the four stages.
+     * </p>
+     *
+     * @param type         The command type, such as {@code list}.
+     * @param parseNanos   The time spent parsing the input, in nanoseconds.
+     * @param executeNanos The time spent executing the command, excluding formatting and saving.
+     * @param formatNanos  The time spent building the response.
+     * @param saveNanos    The time spent saving the task list.
+     */
+    public void record(String type, long parseNanos, long executeNanos, long formatNanos, long saveNanos) {
+        Map<Stage, LatencyHistogram> stages = histograms.computeIfAbsent(type, key -> createStages());
+        stages.get(Stage.PARSE).record(parseNanos);
+        stages.get(Stage.EXECUTE).record(executeNanos);
+        stages.get(Stage.FORMAT).record(formatNanos);
+        stages.get(Stage.SAVE).record(saveNanos);
+        stages.get(Stage.TOTAL).record(parseNanos + executeNanos + formatNanos + saveNanos);
+    }
+
+    /**
+     * Counts one failed command.
+     *
+     * @param error The exception the command failed with.
+     */
+    public void recordError(Throwable error) {
+        errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns the histogram of one stage of a command type.
+     *
+     * @param type  The command type.
+     * @param stage The stage.
+     * @return The histogram, or null if no command of that type has completed.
+     */
+    public LatencyHistogram getHistogram(String type, Stage stage) {
+        Map<Stage, LatencyHistogram> stages = histograms.get(type);
+        return stages == null ? null : stages.get(stage);
+    }
+
+    @Override
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        histograms.forEach((type, stages) -> counts.put(type, stages.get(Stage.TOTAL).getCount()));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMedianMillis() {
+        return percentileMillis(0.5);
+    }
+
+    @Override
+    public Map<String, Double> getP99Millis() {
+        return percentileMillis(0.99);
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns a report of the median and 99th percentile of every stage of every command type, and the errors.
+     *
+     * @return The report, one command type per line.
+     */
+    @Override
+    public String getSummary() {
+        StringBuilder out = new StringBuilder("Command times in ms (median / 99th percentile):");
+        Map<String, Map<Stage, LatencyHistogram>> sorted = new TreeMap<>(histograms);
+        if (sorted.isEmpty()) {
+            out.append("\nNo commands have completed yet.");
+        }
+        sorted.forEach((type, stages) -> {
+            out.append('\n').append(type).append(" x").append(stages.get(Stage.TOTAL).getCount()).append(':');
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = stages.get(stage);
+                out.append(stage == Stage.PARSE ? " " : ", ")
+                        .append(stage.name().toLowerCase(Locale.ROOT)).append(' ')
+                        .append(formatMillis(histogram.getPercentile(0.5))).append(" / ")
+                        .append(formatMillis(histogram.getPercentile(0.99)));
+            }
+        });
+
+        Map<String, Long> errorCounts = getErrorCounts();
+        out.append(errorCounts.isEmpty() ? "\nErrors: none" : "\nErrors:");
+        errorCounts.forEach((type, count) -> out.append('\n').append(type).append(" x").append(count));
+        return out.toString();
+    }
+
+    private Map<String, Double> percentileMillis(double fraction) {
+        Map<String, Double> millis = new TreeMap<>();
+        histograms.forEach((type, stages) ->
+                millis.put(type, stages.get(Stage.TOTAL).getPercentile(fraction) / NANOS_PER_MILLI));
+        return millis;
+    }
+
+    private static Map<Stage, LatencyHistogram> createStages() {
+        Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+        return stages;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,51 @@
+package chatty.metrics;
+
+import java.util.Map;
+
+import javax.management.MXBean;
+
+/**
+ * The CommandMetricsView interface is the management view of {@link CommandMetrics} exported over JMX.
+ * <p>
+ * Every map is keyed by command type, or by exception class for the error counts, so a JMX console such as
+ * JConsole shows one row per command.
+ * </p>
+ */
+@MXBean
+public interface CommandMetricsView {
+
+    /**
+     * Returns the number of completed commands of each type.
+     *
+     * @return The counts by command type.
+     */
+    Map<String, Long> getCommandCounts();
+
+    /**
+     * Returns the median total time of each command type.
+     *
+     * @return The median in milliseconds by command type.
+     */
+    Map<String, Double> getMedianMillis();
+
+    /**
+     * Returns the 99th percentile of the total time of each command type.
+     *
+     * @return The 99th percentile in milliseconds by command type.
+     */
+    Map<String, Double> getP99Millis();
+
+    /**
+     * Returns the number of failed commands by the simple name of the exception they failed with.
+     *
+     * @return The counts by exception class.
+     */
+    Map<String, Long> getErrorCounts();
+
+    /**
+     * Returns a readable report of every stage of every command type, as shown by the {@code stats} command.
+     *
+     * @return The report.
+     */
+    String getSummary();
+}
@@ -0,0 +1,110 @@
+package chatty.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class counts durations in buckets, so percentiles can be read without keeping every sample.
+ * <p>
+ * Durations are recorded in nanoseconds. Every power of two is divided into {@value #SUB_BUCKETS} equal buckets, so
+ * a percentile is reported within 12.5% of the true value whatever its size, while the histogram stays a fixed array
+ * of a few hundred counters. Recording is lock-free and safe from any thread.
+ * </p>
+ */
+public class LatencyHistogram {
+    static final int SUB_BUCKETS = 8;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds. Negative durations are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the duration below which the given fraction of the recorded durations fall.
+     *
+     * @param fraction The fraction, from 0 to 1, such as 0.99 for the 99th percentile.
+     * @return The upper bound of the bucket holding that percentile in nanoseconds, never more than the largest
+     *         recorded duration, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(double fraction) {
+        assert fraction >= 0 && fraction <= 1 : "fraction should be between 0 and 1";
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(fraction * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns the bucket a duration is counted in.
+     *
+     * @param value The non-negative duration.
+     * @return The bucket index.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest duration counted in a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The largest duration in the bucket.
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,131 @@
+package chatty.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The BkTree class finds the words within a given edit distance of a query without comparing against every word.
+ * <p>
+ * Each child of a node is stored under its Levenshtein distance to that node. By the triangle inequality, a word
+ * within distance {@code d} of the query can only be below a child whose edge label lies within {@code d} of the
+ * query's distance to the node, so a search with a small {@code d} only visits a small part of the tree.
+ * Words cannot be removed; callers skip words that no longer matter and rebuild the tree when there are many.
+ * </p>
+ */
+class BkTree {
+    private Node root;
+    private int size = 0;
+    private int[] previousRow = new int[16]; // Scratch rows for the edit distance, reused across comparisons.
+    private int[] currentRow = new int[16];
+
+    /**
+     * The Node class is a word in the tree together with its children keyed by distance.
+     */
+    private static class Node {
+        private final String word;
+        private Map<Integer, Node> children; // Created when the first child is added.
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+
+    /**
+     * Adds a word to the tree, unless it is already there.
+     *
+     * @param word The word to add.
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Calls the visitor with every word within the given distance of the query, together with its distance.
+     *
+     * @param query       The word to search for.
+     * @param maxDistance The largest edit distance to accept.
+     * @param visitor     The code to call for each word found.
+     */
+    void search(String query, int maxDistance, ObjIntConsumer<String> visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(query, node.word);
+            if (distance <= maxDistance) {
+                visitor.accept(node.word, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+                Node child = node.children.get(edge);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words.
+     *
+     * @param a The first word.
+     * @param b The second word.
+     * @return The number of single-character insertions, deletions and substitutions turning one into the other.
+     */
+    int distance(String a, String b) {
+        if (previousRow.length <= b.length()) {
+            previousRow = new int[b.length() + 1];
+            currentRow = new int[b.length() + 1];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,179 @@
+package chatty.task;
+
+import java.util.Arrays;
+
+/**
+ * The CsvTokenizer class splits and quotes the CSV lines used to store tasks.
+ * <p>
+ * Fields are separated by commas and each task takes exactly one line. A field containing a comma or a double quote
+ * is enclosed in double quotes, with any double quote inside it doubled, so task names may contain any character
+ * that can be typed on a single line. Splitting is done in a single pass over a character range without regular
+ * expressions, so a whole file can be parsed straight out of a read buffer with one allocation per field.
+ * </p>
+ */
+public final class CsvTokenizer {
+
+    private CsvTokenizer() {
+    }
+
+    /**
+     * Splits the characters between {@code start} and {@code end} into fields.
+     *
+     * @param chars  The buffer holding the line.
+     * @param start  The index of the first character of the line.
+     * @param end    The index just past the last character of the line.
+     * @param fields The array to store the fields in.
+     * @return The number of fields, or -1 if the line has more fields than the array can hold.
+     * @throws IllegalArgumentException If a quoted field is not terminated or is followed by other characters.
+     */
+    public static int split(char[] chars, int start, int end, String[] fields) throws IllegalArgumentException {
+        int count = 0;
+        int i = start;
+        while (true) {
+            if (count == fields.length) {
+                return -1;
+            }
+            if (i < end && chars[i] == '"') {
+                i = readQuoted(chars, i, end, fields, count);
+                if (i < end && chars[i] != ',') {
+                    throw new IllegalArgumentException("Unexpected character after quoted field");
+                }
+            } else {
+                int fieldStart = i;
+                while (i < end && chars[i] != ',') {
+                    i++;
+                }
+                fields[count] = new String(chars, fieldStart, i - fieldStart);
+            }
+            count++;
+            if (i >= end) {
+                return count;
+            }
+            i++; // Skip the comma.
+        }
+    }
+
+    /**
+     * Splits a line into its fields.
+     *
+     * @param line The line to split.
+     * @return The fields of the line.
+     * @throws IllegalArgumentException If a quoted field is not terminated or is followed by other characters.
+     */
+    public static String[] split(String line) throws IllegalArgumentException {
+        char[] chars = line.toCharArray();
+        String[] fields = new String[8];
+        int count;
+        while ((count = split(chars, 0, chars.length, fields)) < 0) {
+            fields = new String[fields.length * 2];
+        }
+        return Arrays.copyOf(fields, count);
+    }
+
+    /**
+     * Reads the quoted field starting at {@code start} into {@code fields[index]}, undoubling any quotes inside it.
+     *
+     * @param chars  The buffer holding the line.
+     * @param start  The index of the opening quote.
+     * @param end    The index just past the last character of the line.
+     * @param fields The array to store the field in.
+     * @param index  The index of the field.
+     * @return The index just past the closing quote.
+     * @throws IllegalArgumentException If the closing quote is missing.
+     */
+    private static int readQuoted(char[] chars, int start, int end, String[] fields, int index) {
+        StringBuilder unescaped = null; // Only needed if the field contains doubled quotes.
+        int segmentStart = start + 1;
+        int i = segmentStart;
+        while (i < end) {
+            if (chars[i] != '"') {
+                i++;
+            } else if (i + 1 < end && chars[i + 1] == '"') {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(i - segmentStart + 16);
+                }
+                unescaped.append(chars, segmentStart, i + 1 - segmentStart);
+                i += 2;
+                segmentStart = i;
+            } else {
+                if (unescaped == null) {
+                    fields[index] = new String(chars, segmentStart, i - segmentStart);
+                } else {
+                    fields[index] = unescaped.append(chars, segmentStart, i - segmentStart).toString();
+                }
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated quoted field");
+    }
+
+    /**
+     * Returns the field quoted for a CSV line if it needs quoting, or unchanged otherwise.
+     *
+     * @param field The field to quote.
+     * @return The field as it should appear in a CSV line.
+     */
+    public static String quote(String field) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < field.length() && !needsQuotes; i++) {
+            char c = field.charAt(i);
+            needsQuotes = c == ',' || c == '"';
+        }
+        if (!needsQuotes) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Parses the CSV line between {@code start} and {@code end} into the task it describes.
+     * <p>
+     * The first field determines the type of task (Todo, Deadline, Event).
+     * </p>
+     *
+     * @param chars  The buffer holding the line.
+     * @param start  The index of the first character of the line.
+     * @param end    The index just past the last character of the line.
+     * @param fields Scratch space for the fields of the line, reused across calls.
+     * @return The parsed task, or {@code null} if the line describes an unknown task type.
+     * @throws IllegalArgumentException If the line is corrupted.
+     */
+    public static Task parseTask(char[] chars, int start, int end, String[] fields) throws IllegalArgumentException {
+        int count = split(chars, start, end, fields);
+        if (count < 0) {
+            throw new IllegalArgumentException("Too many fields");
+        }
+        if (fields[0].length() != 1) {
+            return null;
+        }
+        switch (fields[0].charAt(0)) {
+        case 'T':
+            return Todo.fromFields(fields, count);
+        case 'D':
+            return Deadline.fromFields(fields, count);
+        case 'E':
+            return Event.fromFields(fields, count);
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Joins a range of fields back together with commas.
+     * <p>
+     * Files written before names were quoted may hold names that were split at their commas; this restores them
+     * where the layout leaves no ambiguity.
+     * </p>
+     *
+     * @param fields The fields of the line.
+     * @param from   The index of the first field to join.
+     * @param to     The index just past the last field to join.
+     * @return The joined fields.
+     */
+    static String join(String[] fields, int from, int to) {
+        if (to - from == 1) {
+            return fields[from];
+        }
+        return String.join(",", Arrays.asList(fields).subList(from, to));
+    }
+}
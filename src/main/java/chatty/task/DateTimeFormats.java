@@ -0,0 +1,161 @@
+package chatty.task;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+
+/**
+ * The DateTimeFormats class holds every date and time layout used by Chatty, compiled once and shared.
+ * <p>
+ * There are three layouts: the one users type deadlines in, {@code dd/MM/yyyy HHmm}; the one deadlines are stored
+ * in, {@code yyyy-MM-dd'T'HH:mm}; and the one they are displayed in, {@code MMM dd yyyy HHmm}. The formatters are
+ * immutable and safe to use from any thread. Because the stored and displayed layouts are read and written for every
+ * deadline loaded, saved or listed, their usual four-digit years are converted by hand, character by character,
+ * without going through the general formatter machinery, which is used only for anything else.
+ * </p>
+ */
+public final class DateTimeFormats {
+    public static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm");
+    public static final DateTimeFormatter CSV_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    public static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy HHmm");
+
+    private static final int CSV_LENGTH = "yyyy-MM-ddTHH:mm".length();
+    private static final String[] MONTH_NAMES = new String[12]; // Short month names in the display locale.
+
+    static {
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = month.getDisplayName(TextStyle.SHORT, DISPLAY_FORMATTER.getLocale());
+        }
+    }
+
+    private DateTimeFormats() {
+    }
+
+    /**
+     * Parses a date and time typed by the user, such as {@code 01/03/2025 1800}.
+     *
+     * @param text The text to parse.
+     * @return The date and time.
+     * @throws DateTimeParseException If the text is not in the input layout.
+     */
+    public static LocalDateTime parseInput(String text) throws DateTimeParseException {
+        return LocalDateTime.parse(text, INPUT_FORMATTER);
+    }
+
+    /**
+     * Parses a stored date and time, such as {@code 2025-03-01T18:00}.
+     * <p>
+     * Text of exactly the stored layout is read digit by digit. Anything else, including a date that does not
+     * exist, is handed to {@link #CSV_FORMATTER}, so the result and any error are the same as parsing with it.
+     * </p>
+     *
+     * @param text The text to parse.
+     * @return The date and time.
+     * @throws DateTimeParseException If the text is not in the stored layout.
+     */
+    public static LocalDateTime parseCsv(String text) throws DateTimeParseException {
+        if (text.length() == CSV_LENGTH && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            int hour = digits(text, 11, 13);
+            int minute = digits(text, 14, 16);
+            if ((year | month | day | hour | minute) >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute);
+                } catch (DateTimeException e) {
+                    // Fall through to the formatter, which resolves or reports an invalid date its own way.
+                }
+            }
+        }
+        return LocalDateTime.parse(text, CSV_FORMATTER);
+    }
+
+    /**
+     * Formats a date and time in the stored layout, such as {@code 2025-03-01T18:00}.
+     *
+     * @param dateTime The date and time.
+     * @return The formatted text, the same as {@link #CSV_FORMATTER} gives.
+     */
+    public static String formatCsv(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            return dateTime.format(CSV_FORMATTER);
+        }
+        char[] chars = new char[CSV_LENGTH];
+        putDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        putDigits(chars, 5, dateTime.getMonthValue(), 2);
+        chars[7] = '-';
+        putDigits(chars, 8, dateTime.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        putDigits(chars, 11, dateTime.getHour(), 2);
+        chars[13] = ':';
+        putDigits(chars, 14, dateTime.getMinute(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * Formats a date and time in the display layout, such as {@code Mar 01 2025 1800}.
+     *
+     * @param dateTime The date and time.
+     * @return The formatted text, the same as {@link #DISPLAY_FORMATTER} gives.
+     */
+    public static String formatDisplay(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            return dateTime.format(DISPLAY_FORMATTER);
+        }
+        String monthName = MONTH_NAMES[dateTime.getMonthValue() - 1];
+        char[] chars = new char[monthName.length() + " dd yyyy HHmm".length()];
+        monthName.getChars(0, monthName.length(), chars, 0);
+        int i = monthName.length();
+        chars[i] = ' ';
+        putDigits(chars, i + 1, dateTime.getDayOfMonth(), 2);
+        chars[i + 3] = ' ';
+        putDigits(chars, i + 4, year, 4);
+        chars[i + 8] = ' ';
+        putDigits(chars, i + 9, dateTime.getHour(), 2);
+        putDigits(chars, i + 11, dateTime.getMinute(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * Reads the decimal number between two offsets of the text.
+     *
+     * @param text  The text.
+     * @param start The offset of the first digit.
+     * @param end   The offset just past the last digit.
+     * @return The number, or -1 if a character is not an ASCII digit.
+     */
+    private static int digits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Writes a number as a fixed count of decimal digits, padded with leading zeros.
+     *
+     * @param chars  The array to write to.
+     * @param offset The offset of the first digit.
+     * @param value  The non-negative number, with no more digits than the count.
+     * @param count  The number of digits to write.
+     */
+    private static void putDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package chatty.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Represents a deadline task in the chatty application.
@@ -11,7 +11,6 @@ import java.time.format.DateTimeFormatter;
  * </p>
  */
 public class Deadline extends Task {
-
     private LocalDateTime deadline;
 
     /**
@@ -37,6 +36,10 @@ public class Deadline extends Task {
         this.deadline = deadline;
     }
 
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
     /**
      * Creates a Deadline task from a CSV string representation.
      * <p>
@@ -48,13 +51,33 @@ public class Deadline extends Task {
      * @throws IllegalArgumentException If the CSV format is incorrect.
      */
     public static Deadline fromCsv(String line) throws IllegalArgumentException {
-        String[] parts = line.split(",");
-        if (parts.length != 4) {
+        String[] fields = CsvTokenizer.split(line);
+        return fromFields(fields, fields.length);
+    }
+
+    /**
+     * Creates a Deadline task from the fields of a CSV line.
+     * <p>
+     * A name written unquoted by older versions may have been split at its commas, so any fields between the
+     * completion status and the deadline are joined back into the name.
+     * </p>
+     *
+     * @param fields The fields of the CSV line.
+     * @param count  The number of fields.
+     * @return A new {@link Deadline} object created from the fields.
+     * @throws IllegalArgumentException If the fields are not properly formatted or the deadline cannot be parsed.
+     */
+    static Deadline fromFields(String[] fields, int count) throws IllegalArgumentException {
+        if (count < 4) {
             throw new IllegalArgumentException("Invalid deadline format");
         }
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
-        LocalDateTime deadline = LocalDateTime.parse(parts[3], formatter);
-        return new Deadline(parts[1].equals("1"), parts[2], deadline);
+        LocalDateTime deadline;
+        try {
+            deadline = DateTimeFormats.parseCsv(fields[count - 1]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid deadline: " + fields[count - 1], e);
+        }
+        return new Deadline(fields[1].equals("1"), CsvTokenizer.join(fields, 2, count - 1), deadline);
     }
 
     /**
@@ -66,10 +89,9 @@ public class Deadline extends Task {
      * @return A CSV string representing the deadline task.
      */
     public String toCsv() {
-        return String.format("D,%d,%s,%s",
-                super.isCompleted() ? 1 : 0,
-                super.getTaskName(),
-                this.deadline);
+        return (super.isCompleted() ? "D,1," : "D,0,")
+                + CsvTokenizer.quote(super.getTaskName()) + ','
+                + DateTimeFormats.formatCsv(this.deadline);
     }
 
     /**
@@ -82,8 +104,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy HHmm");
-        String deadlineString = this.deadline.format(formatter);
+        String deadlineString = DateTimeFormats.formatDisplay(this.deadline);
         return "[D]" + super.toString() + " (by: " + deadlineString + "h)";
     }
 }
@@ -39,6 +39,14 @@ public class Event extends Task {
         this.end = end;
     }
 
+    public String getStart() {
+        return start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+
     /**
      * Creates an Event task from a CSV string representation.
      * <p>
@@ -50,15 +58,24 @@ public class Event extends Task {
      * @throws IllegalArgumentException If the CSV format is incorrect.
      */
     public static Event fromCsv(String line) throws IllegalArgumentException {
-        String[] parts = line.split(",");
-        if (parts.length != 5) {
-            throw new IllegalArgumentException("Corrupted data: " + line);
+        String[] fields = CsvTokenizer.split(line);
+        return fromFields(fields, fields.length);
+    }
+
+    /**
+     * Creates an Event task from the fields of a CSV line.
+     *
+     * @param fields The fields of the CSV line.
+     * @param count  The number of fields.
+     * @return A new {@link Event} object created from the fields.
+     * @throws IllegalArgumentException If the fields are not properly formatted.
+     */
+    static Event fromFields(String[] fields, int count) throws IllegalArgumentException {
+        if (count != 5) {
+            throw new IllegalArgumentException("Corrupted data: " + CsvTokenizer.join(fields, 0, count));
         }
-        boolean isCompleted = parts[1].equals("1");
-        String description = parts[2];
-        String start = parts[3];
-        String end = parts[4];
-        return new Event(description, isCompleted, start, end);
+        boolean isCompleted = fields[1].equals("1");
+        return new Event(fields[2], isCompleted, fields[3], fields[4]);
     }
 
     /**
@@ -70,11 +87,10 @@ public class Event extends Task {
      * @return A CSV string representing the event task.
      */
     public String toCsv() {
-        return String.format("E,%d,%s,%s,%s",
-                super.isCompleted() ? 1 : 0,
-                super.getTaskName(),
-                this.start,
-                this.end);
+        return (super.isCompleted() ? "E,1," : "E,0,")
+                + CsvTokenizer.quote(super.getTaskName()) + ','
+                + CsvTokenizer.quote(this.start) + ','
+                + CsvTokenizer.quote(this.end);
     }
 
     /**
@@ -0,0 +1,295 @@
+package chatty.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The KeywordIndex class is an inverted index from the words in task names to the tasks containing them.
+ * <p>
+ * Task names are split into words at every character that is not a letter or digit, and each lower-cased word maps
+ * to the tasks whose names contain it. A substring query can only match inside a single word of a name, so the
+ * candidates for a query are the tasks of the words containing its longest word. Only those candidates are checked
+ * with {@link Task#contains(String)}, which keeps the results identical to a full scan.
+ * </p>
+ * <p>
+ * The words containing a query word are found through a second index from every substring of up to
+ * {@value #GRAM_LENGTH} characters of each word to the words containing it. A short query word is looked up
+ * directly, and a longer one intersects the word sets of its {@value #GRAM_LENGTH}-character substrings, so a query
+ * never visits words that cannot contain it.
+ * </p>
+ * <p>
+ * The index is updated incrementally as tasks are added and deleted, and remembers the order in which tasks were
+ * added so results come back in list order.
+ * </p>
+ * <p>
+ * Adding and removing tasks must not overlap with any other call. Plain searches only read the index, so any number
+ * of them may run at once, while fuzzy searches are serialised because they build and reuse the word tree.
+ * </p>
+ */
+class KeywordIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private final Map<String, Set<String>> gramWords = new HashMap<>();
+    private final Map<Task, Long> order = new IdentityHashMap<>();
+    private long nextOrder = 0;
+    private BkTree wordTree; // Built by the first fuzzy search, then kept up to date.
+
+    /**
+     * Constructs an index of the given tasks.
+     *
+     * @param tasks The tasks to index, in list order.
+     */
+    KeywordIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task after every task already in the index.
+     *
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        order.put(task, nextOrder++);
+        for (String word : words(task.getTaskName().toLowerCase(Locale.ROOT))) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks == null) {
+                tasks = new LinkedHashSet<>(); // Tasks use identity equality and stay in list order.
+                postings.put(word, tasks);
+                for (String gram : grams(word)) {
+                    gramWords.computeIfAbsent(gram, key -> new HashSet<>()).add(word);
+                }
+                if (wordTree != null) {
+                    wordTree.add(word);
+                }
+            }
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        order.remove(task);
+        for (String word : words(task.getTaskName().toLowerCase(Locale.ROOT))) {
+            Set<Task> tasks = postings.get(word);
+            if (tasks != null) {
+                tasks.remove(task);
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                    removeGrams(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose names contain the keyword, in list order.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks, or {@code null} if the keyword has no letters or digits to look up, in which case
+     *         the caller has to scan every task.
+     */
+    List<Task> find(String keyword) {
+        String longestWord = "";
+        for (String word : words(keyword.toLowerCase(Locale.ROOT))) {
+            if (word.length() > longestWord.length()) {
+                longestWord = word;
+            }
+        }
+        if (longestWord.isEmpty()) {
+            return null;
+        }
+
+        Set<Task> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String word : candidateWords(longestWord)) {
+            candidates.addAll(postings.get(word));
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (Task task : candidates) {
+            if (task.contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        matches.sort(Comparator.comparingLong(order::get));
+        return matches;
+    }
+
+    /**
+     * Returns the tasks with a word closest to the query, ranked by edit distance and then by list order.
+     * <p>
+     * Candidate words are looked up in a {@link BkTree} of every word in the index, so only words near the query
+     * are compared. Words that no longer belong to any task stay in the tree until they outnumber the live words,
+     * at which point the tree is rebuilt.
+     * </p>
+     *
+     * @param query       The word to search for.
+     * @param maxDistance The largest edit distance between the query and a word of a matching task.
+     * @param limit       The maximum number of tasks to return.
+     * @return The best matching tasks, best first.
+     */
+    synchronized List<Task> findFuzzy(String query, int maxDistance, int limit) {
+        if (wordTree == null || wordTree.size() > 2 * postings.size() + 64) {
+            wordTree = new BkTree();
+            for (String word : postings.keySet()) {
+                wordTree.add(word);
+            }
+        }
+
+        List<List<Set<Task>>> byDistance = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            byDistance.add(new ArrayList<>());
+        }
+        wordTree.search(query.toLowerCase(Locale.ROOT), maxDistance, (word, distance) -> {
+            Set<Task> tasks = postings.get(word);
+            if (tasks != null) {
+                byDistance.get(distance).add(tasks);
+            }
+        });
+
+        // Postings are in list order, so the earliest tasks of a level are among the first few of each posting.
+        Set<Task> ranked = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Task> matches = new ArrayList<>();
+        for (List<Set<Task>> level : byDistance) {
+            int needed = limit - matches.size();
+            if (needed <= 0) {
+                break;
+            }
+            List<Task> earliest = new ArrayList<>();
+            for (Set<Task> tasks : level) {
+                int taken = 0;
+                for (Iterator<Task> iterator = tasks.iterator(); iterator.hasNext() && taken < needed; ) {
+                    Task task = iterator.next();
+                    if (!ranked.contains(task)) {
+                        earliest.add(task);
+                        taken++;
+                    }
+                }
+            }
+            earliest.sort(Comparator.comparingLong(order::get));
+            for (Task task : earliest) {
+                if (matches.size() < limit && ranked.add(task)) {
+                    matches.add(task);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the indexed words containing a word.
+     *
+     * @param word The lower-cased word to look for.
+     * @return The indexed words containing it, including the word itself if it is indexed.
+     */
+    Set<String> candidateWords(String word) {
+        if (word.length() <= GRAM_LENGTH) {
+            return gramWords.getOrDefault(word, Collections.emptySet());
+        }
+
+        List<Set<String>> gramSets = new ArrayList<>();
+        for (String gram : grams(word)) {
+            if (gram.length() == GRAM_LENGTH) {
+                Set<String> words = gramWords.get(gram);
+                if (words == null) {
+                    return Collections.emptySet();
+                }
+                gramSets.add(words);
+            }
+        }
+        gramSets.sort(Comparator.comparingInt(Set::size));
+        Set<String> candidates = new HashSet<>();
+        for (String candidate : gramSets.get(0)) {
+            if (candidate.contains(word)) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Removes a word that no longer belongs to any task from the substring index.
+     *
+     * @param word The word to remove.
+     */
+    private void removeGrams(String word) {
+        for (String gram : grams(word)) {
+            Set<String> words = gramWords.get(gram);
+            if (words != null) {
+                words.remove(word);
+                if (words.isEmpty()) {
+                    gramWords.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct substrings of a word that are at most {@value #GRAM_LENGTH} characters long.
+     *
+     * @param word The word to split.
+     * @return The substrings of the word.
+     */
+    private static Set<String> grams(String word) {
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start < word.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, word.length()); end++) {
+                grams.add(word.substring(start, end));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Returns an estimate of the memory used by the index, in bytes.
+     *
+     * @return The estimated size of the index.
+     */
+    long getMemoryEstimate() {
+        long bytes = (long) order.size() * 48;
+        for (Map.Entry<String, Set<Task>> entry : postings.entrySet()) {
+            bytes += 96 + 2L * entry.getKey().length() + 40L * entry.getValue().size();
+        }
+        for (Map.Entry<String, Set<String>> entry : gramWords.entrySet()) {
+            bytes += 96 + 2L * entry.getKey().length() + 40L * entry.getValue().size();
+        }
+        return bytes;
+    }
+
+    /**
+     * Splits text into its words, i.e. its maximal runs of letters and digits.
+     *
+     * @param text The text to split.
+     * @return The distinct words in the text.
+     */
+    static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
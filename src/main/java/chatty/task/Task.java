@@ -9,7 +9,7 @@ package chatty.task;
  */
 public class Task {
     private String taskName;
-    private boolean isCompleted = false;
+    private volatile boolean isCompleted = false; // Read by other threads through task list snapshots.
 
     /**
      * Constructs a new Task with a specified name.
@@ -89,7 +89,13 @@ public class Task {
      * @return {@code true} if the task name contains the keyword (case-insensitive), otherwise {@code false}.
      */
     public boolean contains(String keyWord) {
-        return this.taskName.contains(keyWord.toLowerCase());
+        int last = this.taskName.length() - keyWord.length();
+        for (int i = 0; i <= last; i++) {
+            if (this.taskName.regionMatches(true, i, keyWord, 0, keyWord.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -0,0 +1,133 @@
+package chatty.task;
+
+/**
+ * Represents a single mutation that was applied to a {@link TaskList}.
+ * <p>
+ * The task list records one change for every add, mark, unmark and delete so that storage can persist
+ * just the mutation instead of rewriting every task. Each change serialises to one compact journal line.
+ * </p>
+ */
+public class TaskChange {
+
+    /**
+     * Enum representing the kinds of mutation a task list can undergo.
+     * <p>
+     * Each type has a single-character tag that prefixes its journal line.
+     * </p>
+     */
+    public enum Type {
+        ADD('A'),
+        MARK('M'),
+        UNMARK('U'),
+        DELETE('X');
+
+        private final char tag;
+
+        Type(char tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * Returns the journal tag of this change type.
+         *
+         * @return The single-character tag.
+         */
+        public char getTag() {
+            return tag;
+        }
+
+        /**
+         * Returns the change type identified by the given journal tag.
+         *
+         * @param tag The single-character tag.
+         * @return The matching change type.
+         * @throws IllegalArgumentException If no change type uses the tag.
+         */
+        public static Type fromTag(char tag) throws IllegalArgumentException {
+            for (Type type : values()) {
+                if (type.tag == tag) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown change type: " + tag);
+        }
+    }
+
+    private final Type type;
+    private final Task task; // Only set for ADD changes.
+    private final int index; // 1-based task index, only set for MARK, UNMARK and DELETE changes.
+
+    private TaskChange(Type type, Task task, int index) {
+        this.type = type;
+        this.task = task;
+        this.index = index;
+    }
+
+    /**
+     * Creates a change recording that a task was appended to the list.
+     *
+     * @param task The task that was added.
+     * @return The corresponding change.
+     */
+    public static TaskChange add(Task task) {
+        return new TaskChange(Type.ADD, task, 0);
+    }
+
+    /**
+     * Creates a change recording that the task at the given index was marked as completed.
+     *
+     * @param index The 1-based index of the task.
+     * @return The corresponding change.
+     */
+    public static TaskChange mark(int index) {
+        return new TaskChange(Type.MARK, null, index);
+    }
+
+    /**
+     * Creates a change recording that the task at the given index was unmarked.
+     *
+     * @param index The 1-based index of the task.
+     * @return The corresponding change.
+     */
+    public static TaskChange unmark(int index) {
+        return new TaskChange(Type.UNMARK, null, index);
+    }
+
+    /**
+     * Creates a change recording that the task at the given index was deleted.
+     *
+     * @param index The 1-based index of the task.
+     * @return The corresponding change.
+     */
+    public static TaskChange delete(int index) {
+        return new TaskChange(Type.DELETE, null, index);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the journal line representing this change.
+     * <p>
+     * The format is "A,[task csv]" for additions and "[tag],[task index]" for the other changes,
+     * e.g. "A,T,0,buy milk" or "M,3".
+     * </p>
+     *
+     * @return A single journal line without a line terminator.
+     */
+    public String toJournal() {
+        if (type == Type.ADD) {
+            return type.getTag() + "," + task.toCsv();
+        }
+        return type.getTag() + "," + index;
+    }
+}
@@ -1,8 +1,13 @@
 package chatty.task;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 import chatty.exception.ChattyTaskNotFoundException;
 
@@ -13,17 +18,72 @@ import chatty.exception.ChattyTaskNotFoundException;
  * and converting the task list to a CSV format. It also provides methods for accessing and displaying the list of
  * tasks.
  * </p>
+ * <p>
+ * A task list may be shared between threads. Reads share a read lock and changes take the write lock, so readers
+ * never see a list in the middle of a change. Readers that need more than one call to agree, such as a command
+ * showing the count and a page of tasks, use {@link #read(Function)}. Readers that iterate over the whole list use
+ * {@link #snapshot()}, an immutable copy that is reused until the list next changes, so they do not hold up writers
+ * while they work.
+ * </p>
+ * <p>
+ * Searches only read the list, so they take the read lock too. The search indexes are built by the first search
+ * that needs them, guarded by a lock of their own so concurrent searches build each index once, and are then kept
+ * up to date by the changes, which hold the write lock.
+ * </p>
  */
 public class TaskList {
+    private static final int BULK_DELETE_THRESHOLD = 16;
 
     private final List<Task> tasks;
+    private final long maxTrigramPostings; // Postings the trigram index may hold before it disables itself.
+    private final List<TaskChange> pendingChanges = new ArrayList<>(); // Changes not yet persisted.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long version = 0; // Incremented whenever a task is added or deleted.
+    private volatile Snapshot snapshot; // The latest snapshot, reused while the version is unchanged.
+    private final Object indexLock = new Object(); // Guards building the search indexes.
+    private volatile KeywordIndex keywordIndex; // Built by the first search, then kept up to date.
+    private volatile TrigramIndex trigramIndex; // Built by the first search for three or more characters.
+
+    /**
+     * Enum representing the data structure holding the tasks of a list.
+     * <p>
+     * {@code ARRAY} keeps the tasks in an array, which is compact and fastest to read, but deleting a task shifts
+     * every task after it. {@code TREE} keeps them in a balanced tree, which gets, inserts and deletes by position
+     * in logarithmic time, so deleting many tasks from a long list stays fast wherever they are.
+     * </p>
+     */
+    public enum Backing {
+        ARRAY,
+        TREE
+    }
 
     /**
      * Constructs a new empty task list.
      * Initializes an empty list of tasks.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(Backing.ARRAY);
+    }
+
+    /**
+     * Constructs a new empty task list held in the given data structure.
+     *
+     * @param backing The data structure to hold the tasks in.
+     */
+    public TaskList(Backing backing) {
+        this(backing, TrigramIndex.DEFAULT_MAX_POSTINGS);
+    }
+
+    /**
+     * Constructs a new empty task list held in the given data structure, whose trigram index holds at most the
+     * given number of postings.
+     *
+     * @param backing            The data structure to hold the tasks in.
+     * @param maxTrigramPostings The number of postings past which the trigram index disables itself.
+     */
+    TaskList(Backing backing, long maxTrigramPostings) {
+        this.tasks = backing == Backing.TREE ? new TaskTree() : new ArrayList<>();
+        this.maxTrigramPostings = maxTrigramPostings;
     }
 
     /**
@@ -32,7 +92,40 @@ public class TaskList {
      * @param tasks The list of tasks.
      */
     public TaskList(List<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks);
+        this(tasks, true);
+    }
+
+    private TaskList(List<Task> tasks, boolean isCopied) {
+        this.tasks = isCopied ? new ArrayList<>(tasks) : tasks;
+        this.maxTrigramPostings = TrigramIndex.DEFAULT_MAX_POSTINGS;
+    }
+
+    /**
+     * The Snapshot class is an immutable copy of the tasks, tagged with the version of the list it was taken at.
+     */
+    private static class Snapshot {
+        private final long version;
+        private final List<Task> tasks;
+
+        Snapshot(long version, List<Task> tasks) {
+            this.version = version;
+            this.tasks = tasks;
+        }
+    }
+
+    /**
+     * Returns a task list that uses the given list as its storage instead of copying it.
+     * <p>
+     * This lets storage hand over a lazily decoded list, so tasks are only materialised when they are accessed.
+     * The list must support {@code add}, {@code remove(int)} and fast random access, and must not be modified
+     * through any other reference afterwards.
+     * </p>
+     *
+     * @param tasks The list to adopt as the backing storage.
+     * @return A task list backed by the given list.
+     */
+    public static TaskList backedBy(List<Task> tasks) {
+        return new TaskList(tasks, false);
     }
 
     /**
@@ -43,11 +136,60 @@ public class TaskList {
      * @throws ChattyTaskNotFoundException If the task at the specified index does not exist.
      */
     public Task getTask(int index) throws ChattyTaskNotFoundException {
-        if (index <= 0 || index > tasks.size()) {
-            throw new ChattyTaskNotFoundException(index);
-        } else {
-            assert this.tasks.get(index - 1) != null : "Task should exit in the list";
-            return tasks.get(index - 1);
+        lock.readLock().lock();
+        try {
+            if (index <= 0 || index > tasks.size()) {
+                throw new ChattyTaskNotFoundException(index);
+            } else {
+                assert this.tasks.get(index - 1) != null : "Task should exit in the list";
+                return tasks.get(index - 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns an immutable copy of the tasks in the list, in order.
+     * <p>
+     * The copy fixes which tasks are in the list and their order, and is shared by every caller until a task is
+     * added or deleted, so repeated reads of an unchanged list do not copy it again. Marking a task changes the
+     * task itself, so it is visible through earlier snapshots too.
+     * </p>
+     *
+     * @return The tasks in the list at the time of the call.
+     */
+    public List<Task> snapshot() {
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null || current.version != version) {
+                current = new Snapshot(version, List.copyOf(tasks));
+                snapshot = current;
+            }
+            return current.tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the reader while holding the read lock, so that every call it makes sees the same list.
+     * <p>
+     * Writers wait until the reader returns, so the reader should only do a bounded amount of work, such as
+     * rendering one page of tasks.
+     * </p>
+     *
+     * @param reader The code reading the task list.
+     * @param <T>    The type of the result.
+     * @return The result of the reader.
+     */
+    public <T> T read(Function<TaskList, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(this);
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
@@ -57,7 +199,12 @@ public class TaskList {
      * @return The number of tasks in the list.
      */
     public int getNumOfTasks() {
-        return tasks.size();
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -67,14 +214,97 @@ public class TaskList {
      * @throws ChattyTaskNotFoundException If the task at the specified index does not exist.
      */
     public void delete(int index) throws ChattyTaskNotFoundException {
-        if (index <= 0 || index > tasks.size()) {
-            throw new ChattyTaskNotFoundException(index);
-        } else {
-            assert tasks.get(index - 1) != null : "task should exist in the list";
-            tasks.remove(index - 1);
+        lock.writeLock().lock();
+        try {
+            if (index <= 0 || index > tasks.size()) {
+                throw new ChattyTaskNotFoundException(index);
+            } else {
+                assert tasks.get(index - 1) != null : "task should exist in the list";
+                Task removed = tasks.remove(index - 1);
+                version++;
+                if (keywordIndex != null) {
+                    keywordIndex.remove(removed);
+                }
+                if (trigramIndex != null) {
+                    trigramIndex.remove(removed);
+                }
+                pendingChanges.add(TaskChange.delete(index));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deletes the tasks at the specified indices in one change.
+     * <p>
+     * Every index is checked before anything is deleted. Tasks are then deleted from the back, so the remaining
+     * indices stay valid, and each deletion is recorded as a change. An array-backed list deleting more than a few
+     * tasks is compacted in a single pass instead, so the cost does not grow with the product of the number of
+     * deleted tasks and the length of the list.
+     * </p>
+     *
+     * @param indices The 1-based indices of the tasks to delete, in increasing order and without duplicates.
+     * @return The deleted tasks, in the order they were in the list.
+     * @throws ChattyTaskNotFoundException If an index does not exist, in which case nothing is deleted.
+     */
+    public List<Task> deleteAll(int[] indices) throws ChattyTaskNotFoundException {
+        lock.writeLock().lock();
+        try {
+            for (int index : indices) {
+                if (index <= 0 || index > tasks.size()) {
+                    throw new ChattyTaskNotFoundException(index);
+                }
+            }
+            List<Task> removed = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                removed.add(tasks.get(index - 1));
+            }
+            if (tasks instanceof ArrayList && indices.length > BULK_DELETE_THRESHOLD) {
+                compact(indices);
+            } else {
+                for (int i = indices.length - 1; i >= 0; i--) {
+                    tasks.remove(indices[i] - 1);
+                }
+            }
+            for (int i = indices.length - 1; i >= 0; i--) {
+                pendingChanges.add(TaskChange.delete(indices[i]));
+            }
+            for (Task task : removed) {
+                if (keywordIndex != null) {
+                    keywordIndex.remove(task);
+                }
+                if (trigramIndex != null) {
+                    trigramIndex.remove(task);
+                }
+            }
+            version++;
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Removes the tasks at the given indices by moving every kept task after the first of them into place once.
+     *
+     * @param indices The 1-based indices of the tasks to remove, in increasing order and without duplicates.
+     */
+    private void compact(int[] indices) {
+        int first = indices[0] - 1;
+        List<Task> kept = new ArrayList<>(tasks.size() - first - indices.length);
+        int next = 0;
+        for (int i = first; i < tasks.size(); i++) {
+            if (next < indices.length && indices[next] - 1 == i) {
+                next++;
+            } else {
+                kept.add(tasks.get(i));
+            }
+        }
+        tasks.subList(first, tasks.size()).clear();
+        tasks.addAll(kept);
+    }
+
     /**
      * Adds a new task to the task list.
      *
@@ -82,7 +312,20 @@ public class TaskList {
      * @return True if the task was added successfully.
      */
     public boolean add(Task task) {
-        return tasks.add(task);
+        lock.writeLock().lock();
+        try {
+            pendingChanges.add(TaskChange.add(task));
+            if (keywordIndex != null) {
+                keywordIndex.add(task);
+            }
+            if (trigramIndex != null) {
+                trigramIndex.add(task);
+            }
+            version++;
+            return tasks.add(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -92,7 +335,13 @@ public class TaskList {
      * @throws ChattyTaskNotFoundException If the task at the specified index does not exist.
      */
     public void mark(int index) throws ChattyTaskNotFoundException {
-        getTask(index).markDone();
+        lock.writeLock().lock();
+        try {
+            getTask(index).markDone();
+            pendingChanges.add(TaskChange.mark(index));
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -102,7 +351,36 @@ public class TaskList {
      * @throws ChattyTaskNotFoundException If the task at the specified index does not exist.
      */
     public void unmark(int index) throws ChattyTaskNotFoundException {
-        getTask(index).unmarkDone();
+        lock.writeLock().lock();
+        try {
+            getTask(index).unmarkDone();
+            pendingChanges.add(TaskChange.unmark(index));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the changes made to the task list since the last call and forgets them.
+     * <p>
+     * Every add, mark, unmark and delete is recorded in order, which lets storage persist only
+     * what changed instead of the whole list.
+     * </p>
+     *
+     * @return The pending changes in the order they were applied.
+     */
+    public List<TaskChange> drainChanges() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges.isEmpty()) {
+                return List.of();
+            }
+            List<TaskChange> changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            return changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -114,7 +392,7 @@ public class TaskList {
      * @return An array of strings representing the tasks in CSV format.
      */
     public String[] toCsv() {
-        return tasks.stream()
+        return snapshot().stream()
                 .map(Task::toCsv)
                 .toArray(String[]::new);
     }
@@ -122,9 +400,15 @@ public class TaskList {
     /**
      * Searches for tasks that contain the specified keyword in their names.
      * <p>
-     * This method iterates through the task list and checks if each task's name contains the provided keyword
-     * (case-insensitive). If a task's name contains the keyword, it is added to a new {@link TaskList} which is then
-     * returned.
+     * This method checks if each task's name contains the provided keyword (case-insensitive). If a task's name
+     * contains the keyword, it is added to a new {@link TaskList} which is then returned.
+     * </p>
+     * <p>
+     * Keywords of three or more characters are narrowed down by a {@link TrigramIndex} to the tasks containing all
+     * of their trigrams. Shorter keywords, and keywords the trigram index cannot narrow down, use a
+     * {@link KeywordIndex} of the words in every task name instead. Each index is built by the first search that
+     * needs it and then kept up to date as tasks are added and deleted, so searches only check a few candidates
+     * instead of scanning the whole list.
      * </p>
      *
      * @param keyword The keyword to search for in the task names.
@@ -132,15 +416,195 @@ public class TaskList {
      *         task list is returned.
      */
     public TaskList tasksContain(String keyword) {
-        TaskList taskList = new TaskList();
-        if (!this.tasks.isEmpty()) {
+        lock.readLock().lock();
+        try {
+            return new TaskList(findContaining(keyword));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the positions of the tasks whose names contain the specified keyword.
+     * <p>
+     * The matching tasks are found through the search indexes, like {@link #tasksContain(String)}, so numbering
+     * them only takes one pass over the list comparing references rather than checking every task name.
+     * </p>
+     *
+     * @param keyword The keyword to search for in the task names.
+     * @return The 1-based positions of the matching tasks, in increasing order.
+     */
+    public int[] find(String keyword) {
+        lock.readLock().lock();
+        try {
+            List<Task> matches = findContaining(keyword);
+            if (matches.isEmpty()) {
+                return new int[0];
+            }
+            Set<Task> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+            matched.addAll(matches);
+            int[] positions = new int[matches.size()];
+            int count = 0;
+            int position = 0;
+            for (Task task : this.tasks) {
+                position++;
+                if (matched.contains(task)) {
+                    if (count == positions.length) {
+                        positions = Arrays.copyOf(positions, count * 2); // The same task is in the list twice.
+                    }
+                    positions[count++] = position;
+                }
+            }
+            return Arrays.copyOf(positions, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the tasks whose names contain the keyword, in list order, using the search indexes.
+     *
+     * @param keyword The keyword to search for in the task names.
+     * @return The matching tasks.
+     */
+    private List<Task> findContaining(String keyword) {
+        if (this.tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Task> matches = keyword.length() >= 3 ? getTrigramIndex().find(keyword) : null;
+        if (matches == null) {
+            matches = getKeywordIndex().find(keyword);
+        }
+        if (matches == null) {
+            matches = new ArrayList<>();
             for (Task task : this.tasks) {
                 if (task.contains(keyword)) {
-                    taskList.add(task);
+                    matches.add(task);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Searches for the tasks whose names contain a word close to the specified word, allowing for typos.
+     * <p>
+     * Tasks are ranked by the smallest edit distance between the word and any word of their name, and then by
+     * their position in the list. Only the words near the given word are compared, using the same word index as
+     * {@link #tasksContain(String)}.
+     * </p>
+     *
+     * @param word        The word to search for.
+     * @param maxDistance The largest number of typos to tolerate.
+     * @param limit       The maximum number of tasks to return.
+     * @return A {@link TaskList} of the best matching tasks, best first.
+     */
+    public TaskList fuzzyFind(String word, int maxDistance, int limit) {
+        lock.readLock().lock();
+        try {
+            return new TaskList(getKeywordIndex().findFuzzy(word, maxDistance, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the word index, building it if no search has needed it yet.
+     * <p>
+     * The caller must hold the read or write lock, so the list does not change while the index is built.
+     * </p>
+     *
+     * @return The word index of the tasks.
+     */
+    private KeywordIndex getKeywordIndex() {
+        KeywordIndex index = keywordIndex;
+        if (index == null) {
+            synchronized (indexLock) {
+                index = keywordIndex;
+                if (index == null) {
+                    index = new KeywordIndex(this.tasks);
+                    keywordIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the trigram index, building it if no search has needed it yet.
+     * <p>
+     * The caller must hold the read or write lock, so the list does not change while the index is built.
+     * </p>
+     *
+     * @return The trigram index of the tasks.
+     */
+    private TrigramIndex getTrigramIndex() {
+        TrigramIndex index = trigramIndex;
+        if (index == null) {
+            synchronized (indexLock) {
+                index = trigramIndex;
+                if (index == null) {
+                    index = new TrigramIndex(this.tasks, maxTrigramPostings);
+                    trigramIndex = index;
                 }
             }
         }
-        return taskList;
+        return index;
+    }
+
+    /**
+     * Returns an estimate of the memory used by the search indexes of this list, in bytes.
+     * <p>
+     * The trigram index caps its own size and disables itself if it would exceed
+     * {@value TrigramIndex#DEFAULT_MAX_POSTINGS} postings, while the word index grows with the number of distinct
+     * words and is only built for searches the trigram index cannot narrow down.
+     * </p>
+     *
+     * @return The estimated size of the search indexes, or 0 if no search has been run yet.
+     */
+    public long getSearchIndexMemory() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            if (trigramIndex != null) {
+                bytes += trigramIndex.getMemoryEstimate();
+            }
+            if (keywordIndex != null) {
+                bytes += keywordIndex.getMemoryEstimate();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the numbered tasks in the given range to the builder, one per line, in a single pass.
+     * <p>
+     * Each line has the form {@code "<number>. <task>"}, where the number is the task's 1-based position in the
+     * list. Lines are separated by {@code '\n'}, with no line break after the last one. The range is cut short if
+     * tasks have been deleted since the caller last checked the size of the list.
+     * </p>
+     *
+     * @param out       The builder to append to.
+     * @param fromIndex The 0-based position of the first task to render.
+     * @param toIndex   The 0-based position just past the last task to render.
+     * @return The given builder, for chaining.
+     */
+    public StringBuilder render(StringBuilder out, int fromIndex, int toIndex) {
+        lock.readLock().lock();
+        try {
+            int end = Math.min(toIndex, tasks.size());
+            for (int i = fromIndex; i < end; i++) {
+                if (i > fromIndex) {
+                    out.append('\n');
+                }
+                out.append(i + 1).append(". ").append(tasks.get(i));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -154,11 +618,14 @@ public class TaskList {
      */
     @Override
     public String toString() {
-        if (tasks.isEmpty()) {
-            return "";
+        lock.readLock().lock();
+        try {
+            if (tasks.isEmpty()) {
+                return "";
+            }
+            return render(new StringBuilder(tasks.size() * 32), 0, tasks.size()).toString();
+        } finally {
+            lock.readLock().unlock();
         }
-        return tasks.stream()
-                .map(task -> String.format("%d. %s", tasks.indexOf(task) + 1, task))
-                .collect(Collectors.joining("\n"));
     }
 }
@@ -0,0 +1,224 @@
+package chatty.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The TaskTree class is a list of tasks that gets, inserts and removes by position in logarithmic time.
+ * <p>
+ * The tasks are kept in an implicit treap: a binary tree ordered by position, in which every node also records the
+ * size of its subtree and a random priority that keeps the tree balanced with high probability. A position is found
+ * by walking down and comparing it with the size of the left subtree, so no element ever has to be shifted.
+ * Deleting from the front of a long list therefore costs the same as deleting from the back, unlike an
+ * {@link java.util.ArrayList}, at the cost of slower access by position and more memory per task.
+ * </p>
+ */
+class TaskTree extends AbstractList<Task> {
+    private Node root;
+    private int seed = 0x2545F491; // State of the xorshift generator for node priorities.
+
+    /**
+     * The Node class is one task in the tree, with the size of the subtree rooted at it.
+     */
+    private static class Node {
+        private Task task;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * The Split class holds the two trees a tree is split into.
+     */
+    private static class Split {
+        private Node left;
+        private Node right;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Node node = nodeAt(index);
+        Task previous = node.task;
+        node.task = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = new Node(task, nextPriority());
+        if (index == size()) {
+            root = merge(root, node);
+        } else {
+            Split split = split(root, index);
+            root = merge(merge(split.left, node), split.right);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Node node = nodeAt(index);
+        Split split = split(root, index);
+        Split rest = split(split.right, 1);
+        root = merge(split.left, rest.right);
+        modCount++;
+        return node.task;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, visiting each node once instead of searching for every position.
+     *
+     * @return An iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node> path = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+            private Node next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                Node node = path.pop();
+                next = node.right;
+                return node.task;
+            }
+        };
+    }
+
+    /**
+     * Returns the node at the given position.
+     *
+     * @param index The 0-based position.
+     * @return The node at that position.
+     * @throws IndexOutOfBoundsException If there is no such position.
+     */
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits a tree into its first {@code count} nodes and the rest.
+     *
+     * @param node  The root of the tree to split.
+     * @param count The number of nodes to put in the left tree.
+     * @return The two trees.
+     */
+    private static Split split(Node node, int count) {
+        Split split = new Split();
+        if (node == null) {
+            return split;
+        }
+        int leftSize = sizeOf(node.left);
+        if (count <= leftSize) {
+            Split inner = split(node.left, count);
+            node.left = inner.right;
+            split.left = inner.left;
+            split.right = node;
+        } else {
+            Split inner = split(node.right, count - leftSize - 1);
+            node.right = inner.left;
+            split.left = node;
+            split.right = inner.right;
+        }
+        update(node);
+        return split;
+    }
+
+    /**
+     * Joins two trees, placing every node of the first before every node of the second.
+     *
+     * @param left  The root of the first tree.
+     * @param right The root of the second tree.
+     * @return The root of the joined tree.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
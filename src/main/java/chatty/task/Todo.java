@@ -44,12 +44,28 @@ public class Todo extends Task {
      * @throws IllegalArgumentException If the CSV string is not properly formatted.
      */
     public static Todo fromCsv(String line) {
-        String[] parts = line.split(",");
-        if (parts.length != 3) {
-            throw new IllegalArgumentException("Corrupted data: " + line);
+        String[] fields = CsvTokenizer.split(line);
+        return fromFields(fields, fields.length);
+    }
+
+    /**
+     * Creates a Todo task from the fields of a CSV line.
+     * <p>
+     * A name written unquoted by older versions may have been split at its commas, so any extra fields are joined
+     * back into the name.
+     * </p>
+     *
+     * @param fields The fields of the CSV line.
+     * @param count  The number of fields.
+     * @return A new Todo task object.
+     * @throws IllegalArgumentException If the fields are not properly formatted.
+     */
+    static Todo fromFields(String[] fields, int count) throws IllegalArgumentException {
+        if (count < 3) {
+            throw new IllegalArgumentException("Corrupted data: " + CsvTokenizer.join(fields, 0, count));
         }
-        boolean isCompleted = parts[1].equals("1");
-        String description = parts[2];
+        boolean isCompleted = fields[1].equals("1");
+        String description = CsvTokenizer.join(fields, 2, count);
         return new Todo(description, isCompleted);
     }
 
@@ -65,9 +81,7 @@ public class Todo extends Task {
      * @return A CSV string representing the Todo task.
      */
     public String toCsv() {
-        return String.format("T,%d,%s",
-                super.isCompleted() ? 1 : 0,
-                super.getTaskName());
+        return (super.isCompleted() ? "T,1," : "T,0,") + CsvTokenizer.quote(super.getTaskName());
     }
 
     /**
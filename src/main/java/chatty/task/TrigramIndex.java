@@ -0,0 +1,256 @@
+package chatty.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The TrigramIndex class narrows substring searches down to the tasks containing every trigram of the query.
+ * <p>
+ * Every task gets an id in the order it was added, and each trigram (three consecutive characters) of a lower-cased
+ * task name maps to the sorted ids of the tasks containing it. A name can only contain the query if it contains all
+ * of the query's trigrams, so intersecting their postings yields a small set of candidates, which are then checked
+ * with {@link Task#contains(String)} to keep the results identical to a full scan.
+ * </p>
+ * <p>
+ * Memory is bounded in two ways. A trigram found in more than half of the tasks narrows nothing, so it is marked as
+ * saturated and its postings are dropped. If the postings still exceed the configured budget, the index disables
+ * itself and searches fall back to other means. Deleted tasks leave stale ids in the postings until they
+ * outnumber the live tasks, at which point the index is rebuilt.
+ * </p>
+ */
+class TrigramIndex {
+    static final long DEFAULT_MAX_POSTINGS = 8_000_000;
+    private static final int MIN_SATURATION_SIZE = 1024;
+    private static final int MIN_REBUILD_DEAD = 1024;
+    private static final int BYTES_PER_TRIGRAM = 80; // Map entry, boxed key and postings object.
+
+    private final long maxPostings;
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Task, Integer> ids = new IdentityHashMap<>();
+    private Task[] tasksById = new Task[16];
+    private int nextId = 0;
+    private long postingCount = 0;
+    private boolean isDisabled = false;
+
+    /**
+     * The Postings class holds the sorted ids of the tasks containing one trigram.
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size = 0;
+        private boolean isSaturated = false;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Constructs an index of the given tasks.
+     *
+     * @param tasks       The tasks to index, in list order.
+     * @param maxPostings The maximum number of postings to keep before the index disables itself.
+     */
+    TrigramIndex(List<Task> tasks, long maxPostings) {
+        this.maxPostings = maxPostings;
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task after every task already in the index.
+     *
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        if (isDisabled) {
+            return;
+        }
+        int id = nextId++;
+        if (id == tasksById.length) {
+            tasksById = Arrays.copyOf(tasksById, id * 2);
+        }
+        tasksById[id] = task;
+        ids.put(task, id);
+
+        int saturationSize = Math.max(MIN_SATURATION_SIZE, ids.size() / 2);
+        for (long trigram : trigrams(task.getTaskName().toLowerCase(Locale.ROOT))) {
+            Postings list = postings.computeIfAbsent(trigram, key -> new Postings());
+            if (list.isSaturated) {
+                continue;
+            }
+            list.add(id);
+            postingCount++;
+            if (list.size > saturationSize) {
+                postingCount -= list.size;
+                list.ids = null;
+                list.size = 0;
+                list.isSaturated = true;
+            }
+        }
+        if (postingCount > maxPostings) {
+            disable();
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+        tasksById[id] = null;
+        int deadCount = nextId - ids.size();
+        if (deadCount >= MIN_REBUILD_DEAD && deadCount > ids.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the tasks whose names contain the keyword, in list order.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks, or {@code null} if the index cannot narrow down this keyword, because it is shorter
+     *         than a trigram, all its trigrams are saturated or the index is disabled.
+     */
+    List<Task> find(String keyword) {
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        if (isDisabled || lowerKeyword.length() < 3) {
+            return null;
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (long trigram : trigrams(lowerKeyword)) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return new ArrayList<>(); // No task contains this trigram.
+            }
+            if (!list.isSaturated) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = intersect(candidates, count, lists.get(i));
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = tasksById[candidates[i]];
+            if (task != null && task.contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns an estimate of the memory used by the index, in bytes.
+     *
+     * @return The estimated size of the index.
+     */
+    long getMemoryEstimate() {
+        long bytes = (long) tasksById.length * 4 + (long) ids.size() * 40;
+        for (Postings list : postings.values()) {
+            bytes += BYTES_PER_TRIGRAM + (list.ids == null ? 0 : (long) list.ids.length * 4);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns whether the index has exceeded its budget and dropped its postings.
+     *
+     * @return {@code true} if searches have to fall back to other means.
+     */
+    boolean isDisabled() {
+        return isDisabled;
+    }
+
+    /**
+     * Keeps only the first {@code count} candidates that also appear in the postings.
+     *
+     * @param candidates The sorted candidate ids, overwritten with the intersection.
+     * @param count      The number of candidates.
+     * @param list       The postings to intersect with.
+     * @return The number of candidates left.
+     */
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < list.size; i++) {
+            while (j < list.size && list.ids[j] < candidates[i]) {
+                j++;
+            }
+            if (j < list.size && list.ids[j] == candidates[i]) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Re-indexes the live tasks with fresh ids, dropping stale postings and recomputing saturation.
+     */
+    private void rebuild() {
+        List<Task> live = new ArrayList<>(ids.size());
+        for (int id = 0; id < nextId; id++) {
+            if (tasksById[id] != null) {
+                live.add(tasksById[id]);
+            }
+        }
+        postings.clear();
+        ids.clear();
+        tasksById = new Task[Math.max(16, live.size())];
+        nextId = 0;
+        postingCount = 0;
+        for (Task task : live) {
+            add(task);
+        }
+    }
+
+    /**
+     * Frees every posting after the budget has been exceeded, so searches fall back to other means.
+     */
+    private void disable() {
+        isDisabled = true;
+        postings.clear();
+        ids.clear();
+        tasksById = new Task[0];
+        postingCount = 0;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long.
+     *
+     * @param text The text to split into trigrams.
+     * @return The distinct trigrams.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
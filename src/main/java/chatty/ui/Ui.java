@@ -17,10 +17,16 @@ public class Ui {
             - todo [task]: adds a new task
             - deadline [task] /by [dd/mm/yyyy hhmm]: adds a task with a deadline
             - event [task] /at [date]: adds an event
-            - list: displays all tasks
+            - list [page]: displays the tasks, 100 per page
+            - list --from [number] --limit [number] --type [todo/deadline/event] --done/--pending: \
+            displays a window of the tasks, optionally filtered
             - mark [task number]: to mark a task as completed
             - unmark [task number]: to mark a task as not completed
+            - delete [task number]: to delete a task
+            - mark/unmark/delete [1,4,9 or 10-500 or all or all /find keyword]: to change many tasks at once
             - find [keyword]: to find all tasks containing the keyword in the description
+            - find /fuzzy [word]: to find the tasks closest to the word, even with typos
+            - stats: to show how long commands take and how large the task store is
             - bye: to exit the application""";
 
     /**
@@ -0,0 +1,88 @@
+package chatty.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import chatty.controller.Storage;
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+import chatty.ui.Ui;
+
+/**
+ * Unit test class for the {@link BulkCommand} class.
+ * <p>
+ * This test class verifies that a {@link BulkCommand} changes every selected task of the {@link TaskList} as one
+ * batch, saves to the mocked {@link Storage} exactly once, and changes nothing if the selection is invalid.
+ * </p>
+ */
+class BulkCommandTest {
+
+    private TaskList tasks; // List of tasks to be tested.
+    private Ui ui; // Mocked user interface.
+    private Storage storage; // Mocked storage.
+
+    /**
+     * Sets up the test environment before each test case.
+     * Initializes a {@link TaskList} of ten tasks, every third of which mentions a report, and mocks the {@link Ui}
+     * and {@link Storage}.
+     */
+    @BeforeEach
+    void setUp() {
+        tasks = new TaskList();
+        ui = mock(Ui.class);
+        storage = mock(Storage.class);
+
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Todo(i % 3 == 0 ? "write report " + i : "task " + i));
+        }
+    }
+
+    /**
+     * Tests that deleting a range and a list of numbers removes exactly those tasks and saves once.
+     *
+     * @throws ChattyTaskNotFoundException if a selected task does not exist.
+     */
+    @Test
+    void execute_shouldDeleteSelectedTasks_whenRangesGiven() throws ChattyTaskNotFoundException {
+        new BulkCommand(BulkCommand.Action.DELETE, TaskSelector.parse("2-4,9,3")).execute(tasks, ui, storage);
+
+        assertEquals("1. [T][ ] task 1\n2. [T][ ] task 5\n3. [T][ ] write report 6\n4. [T][ ] task 7\n"
+                + "5. [T][ ] task 8\n6. [T][ ] task 10", tasks.toString());
+        verify(storage, times(1)).saveTasks(tasks);
+    }
+
+    /**
+     * Tests that marking every task containing a keyword marks only those tasks and saves once.
+     *
+     * @throws ChattyTaskNotFoundException if a selected task does not exist.
+     */
+    @Test
+    void execute_shouldMarkMatchingTasks_whenFindGiven() throws ChattyTaskNotFoundException {
+        new BulkCommand(BulkCommand.Action.MARK, TaskSelector.parse("all /find report")).execute(tasks, ui, storage);
+
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i % 3 == 0, tasks.getTask(i).isCompleted());
+        }
+        verify(storage, times(1)).saveTasks(tasks);
+    }
+
+    /**
+     * Tests that a selection reaching past the end of the list changes and saves nothing.
+     */
+    @Test
+    void execute_shouldChangeNothing_whenSelectionIsOutOfRange() {
+        BulkCommand command = new BulkCommand(BulkCommand.Action.DELETE, TaskSelector.parse("1,8-11"));
+
+        assertThrows(ChattyTaskNotFoundException.class, () -> command.execute(tasks, ui, storage));
+        assertEquals(10, tasks.getNumOfTasks());
+        verify(storage, never()).saveTasks(tasks);
+    }
+}
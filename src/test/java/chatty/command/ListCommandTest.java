@@ -0,0 +1,110 @@
+package chatty.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import chatty.controller.Storage;
+import chatty.task.Task;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+import chatty.ui.Ui;
+
+/**
+ * Unit test class for the {@link ListCommand} class.
+ * <p>
+ * This test class verifies that the {@link ListCommand} shows only the requested window of the {@link TaskList},
+ * keeps the numbers of filtered tasks, and tells the user how to see the rest.
+ * </p>
+ */
+class ListCommandTest {
+
+    private TaskList tasks; // List of tasks to be tested.
+    private Ui ui; // Mocked user interface.
+    private Storage storage; // Mocked storage.
+
+    /**
+     * Sets up the test environment before each test case.
+     * Initializes a {@link TaskList} of five tasks, the even-numbered of which are done, and mocks the {@link Ui}
+     * and {@link Storage}.
+     */
+    @BeforeEach
+    void setUp() {
+        tasks = new TaskList();
+        ui = mock(Ui.class);
+        storage = mock(Storage.class);
+
+        for (int i = 1; i <= 5; i++) {
+            Task task = new Todo("task " + i);
+            if (i % 2 == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+    }
+
+    /**
+     * Tests that a window in the middle of the list shows only its tasks, with their positions in the full list,
+     * followed by a footer pointing to the next page.
+     */
+    @Test
+    void execute_shouldShowOnlyWindow_whenListIsLongerThanPage() {
+        new ListCommand(3, 2, null, true).execute(tasks, ui, storage);
+
+        verify(ui).getMessage("You currently have 5 tasks in the list\n"
+                + "3. [T][ ] task 3\n4. [T][X] task 4.\n"
+                + "Showing 3-4 of 5 tasks. Type \"list 3\" to see the next page.");
+    }
+
+    /**
+     * Tests that filtered tasks keep their numbers in the full list.
+     */
+    @Test
+    void execute_shouldKeepNumbers_whenTasksAreFiltered() {
+        new ListCommand(1, ListCommand.PAGE_SIZE, Task::isCompleted, false).execute(tasks, ui, storage);
+
+        verify(ui).getMessage("You currently have 5 tasks in the list\n"
+                + "2. [T][X] task 2\n4. [T][X] task 4.\n"
+                + "Found 2 matching tasks.");
+    }
+
+    /**
+     * Tests that the first page of a long list formats only the tasks on that page, so the reply does not wait for
+     * the rest of the list.
+     */
+    @Test
+    void execute_shouldFormatOnlyFirstPage_whenListIsLong() {
+        AtomicInteger formatted = new AtomicInteger();
+        TaskList longList = new TaskList();
+        for (int i = 1; i <= 50_000; i++) {
+            longList.add(new Todo("task " + i) {
+                @Override
+                public String toString() {
+                    formatted.incrementAndGet();
+                    return super.toString();
+                }
+            });
+        }
+
+        new ListCommand().execute(longList, ui, storage);
+
+        assertEquals(ListCommand.PAGE_SIZE, formatted.get());
+    }
+
+    /**
+     * Tests that rendering the list is timed as formatting the response.
+     */
+    @Test
+    void execute_shouldTimeRendering_asFormatting() {
+        ListCommand command = new ListCommand();
+        command.execute(tasks, ui, storage);
+
+        assertTrue(command.getFormatNanos() > 0);
+    }
+}
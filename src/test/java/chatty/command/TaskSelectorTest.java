@@ -0,0 +1,74 @@
+package chatty.command;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+
+/**
+ * Unit test class for the {@link TaskSelector} class.
+ * <p>
+ * This test class verifies that selections are parsed whatever whitespace separates their words, and that keyword
+ * selections number the same tasks as checking every task with {@link chatty.task.Task#contains(String)}.
+ * </p>
+ */
+class TaskSelectorTest {
+
+    private TaskList tasks; // List of tasks to select from.
+
+    /**
+     * Sets up the test environment before each test case.
+     * Initializes a {@link TaskList} of twelve tasks, every third of which mentions a report.
+     */
+    @BeforeEach
+    void setUp() {
+        tasks = new TaskList();
+        for (int i = 1; i <= 12; i++) {
+            tasks.add(new Todo(i % 3 == 0 ? "write report " + i : "task " + i));
+        }
+    }
+
+    /**
+     * Tests that a keyword selection matches the same tasks however the words are spaced, including keywords with
+     * inner spaces and keywords short enough to bypass the trigram index.
+     *
+     * @throws ChattyTaskNotFoundException if a selected task does not exist.
+     */
+    @Test
+    void resolve_shouldFindKeyword_whateverTheSpacing() throws ChattyTaskNotFoundException {
+        int[] reports = {3, 6, 9, 12};
+        assertArrayEquals(reports, TaskSelector.parse("all /find report").resolve(tasks));
+        assertArrayEquals(reports, TaskSelector.parse("  all   /find\treport ").resolve(tasks));
+        assertArrayEquals(reports, TaskSelector.parse("all /find REPORT").resolve(tasks));
+        assertArrayEquals(new int[] {3}, TaskSelector.parse("all /find report 3").resolve(tasks));
+        assertArrayEquals(new int[] {1, 10, 11, 12}, TaskSelector.parse("all /find 1").resolve(tasks));
+        assertArrayEquals(new int[0], TaskSelector.parse("all /find missing").resolve(tasks));
+
+        tasks.delete(1);
+        assertArrayEquals(new int[] {2, 5, 8, 11}, TaskSelector.parse("all /find report").resolve(tasks));
+    }
+
+    /**
+     * Tests that numbers, ranges and {@code all} select the expected tasks, and that malformed selections are
+     * rejected.
+     *
+     * @throws ChattyTaskNotFoundException if a selected task does not exist.
+     */
+    @Test
+    void parse_shouldSelectNumbersAndRanges_andRejectMalformedSelections() throws ChattyTaskNotFoundException {
+        assertArrayEquals(new int[] {1, 2, 3, 4, 9}, TaskSelector.parse("9, 2-4,1").resolve(tasks));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12},
+                TaskSelector.parse(" all ").resolve(tasks));
+        assertThrows(ChattyTaskNotFoundException.class, () -> TaskSelector.parse("11-13").resolve(tasks));
+
+        assertThrows(IllegalArgumentException.class, () -> TaskSelector.parse("all /find"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSelector.parse("all report"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSelector.parse("4-2"));
+        assertThrows(IllegalArgumentException.class, () -> TaskSelector.parse(""));
+    }
+}
@@ -0,0 +1,68 @@
+package chatty.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import chatty.command.ExitCommand;
+import chatty.command.HelpCommand;
+
+/**
+ * Unit test class for the {@link CommandTable} class.
+ * <p>
+ * This test class verifies that a {@link CommandTable} matches only whole command words, including words that are
+ * prefixes of each other, and that aliases resolve to the parser of the command they stand for.
+ * </p>
+ */
+class CommandTableTest {
+
+    private CommandTable commands; // Table of commands to be tested.
+    private ArgumentParser mark; // Parser registered for "mark".
+    private ArgumentParser markAll; // Parser registered for "markall".
+
+    /**
+     * Sets up the test environment before each test case.
+     * Registers "mark" and "markall", two command words of which one is a prefix of the other.
+     */
+    @BeforeEach
+    void setUp() {
+        commands = new CommandTable();
+        mark = tokens -> new HelpCommand();
+        markAll = tokens -> new ExitCommand();
+        commands.register("mark", mark);
+        commands.register("markall", markAll);
+    }
+
+    /**
+     * Tests that only the whole first word of the input selects a command.
+     */
+    @Test
+    void find_shouldMatchWholeWordOnly_whenWordsSharePrefix() {
+        assertSame(mark, find("mark 2"));
+        assertSame(mark, find("mark"));
+        assertSame(markAll, find("markall\t3"));
+        assertNull(find("marker 2"));
+        assertNull(find("mar 2"));
+        assertNull(find(""));
+    }
+
+    /**
+     * Tests that an alias resolves to the parser of its command, and that unknown or invalid words are rejected.
+     */
+    @Test
+    void alias_shouldResolveToCommand_whenCommandRegistered() {
+        commands.alias("m", "mark");
+
+        assertSame(mark, find("m 1"));
+        assertThrows(IllegalArgumentException.class, () -> commands.alias("x", "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> commands.register("two words", mark));
+        assertThrows(IllegalArgumentException.class, () -> commands.register("", mark));
+    }
+
+    private ArgumentParser find(String input) {
+        return commands.find(input, CommandTable.keywordEnd(input));
+    }
+}
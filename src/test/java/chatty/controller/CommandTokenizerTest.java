@@ -0,0 +1,55 @@
+package chatty.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link CommandTokenizer} class.
+ * <p>
+ * This test class verifies that a {@link CommandTokenizer} splits arguments on any run of whitespace, keeps the
+ * spacing inside the text it copies out, parses numbers without regular expressions and forgets the words of its
+ * previous input when reused.
+ * </p>
+ */
+class CommandTokenizerTest {
+
+    /**
+     * Tests that the words after the command word are found and that text between flags keeps its spacing.
+     */
+    @Test
+    void tokenize_shouldSplitOnWhitespace_whenArgumentsHaveFlags() {
+        CommandTokenizer tokens = new CommandTokenizer().tokenize("deadline  submit   report\t/by 01/03/2025 1800 ",
+                "deadline".length());
+
+        assertEquals(5, tokens.getWordCount());
+        assertEquals("submit", tokens.word(0));
+        assertEquals(2, tokens.indexOf("/by", 0));
+        assertEquals(-1, tokens.indexOf("/by", 3));
+        assertEquals("submit   report", tokens.text(0, 2));
+        assertEquals("01/03/2025 1800", tokens.text(3, 5));
+        assertEquals("", tokens.text(2, 2));
+        assertTrue(tokens.wordEquals(1, "report"));
+        assertFalse(tokens.wordEquals(1, "rep"));
+    }
+
+    /**
+     * Tests that numbers are parsed only from words made of digits, and that a reused tokenizer starts afresh.
+     */
+    @Test
+    void parseInt_shouldRejectNonDigits_whenTokenizerReused() {
+        CommandTokenizer tokens = new CommandTokenizer().tokenize("list 12 -3 +4 99999999999", 4);
+
+        assertEquals(12, tokens.parseInt(0));
+        assertThrows(NumberFormatException.class, () -> tokens.parseInt(1));
+        assertThrows(NumberFormatException.class, () -> tokens.parseInt(2));
+        assertThrows(NumberFormatException.class, () -> tokens.parseInt(3));
+
+        tokens.tokenize("list", 4);
+        assertEquals(0, tokens.getWordCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> tokens.word(0));
+    }
+}
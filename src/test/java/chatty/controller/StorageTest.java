@@ -0,0 +1,382 @@
+package chatty.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chatty.exception.ChattyTaskNotFoundException;
+import chatty.task.Deadline;
+import chatty.task.Event;
+import chatty.task.Task;
+import chatty.task.TaskList;
+import chatty.task.Todo;
+
+/**
+ * Unit test class for the {@link Storage} class.
+ * <p>
+ * This test class verifies that tasks saved through {@link Storage} are restored unchanged by a later load,
+ * both when the whole file is rewritten and when mutations are appended to the journal.
+ * </p>
+ */
+class StorageTest {
+
+    @TempDir
+    Path tempDir; // Fresh directory for each test's storage files.
+
+    private String filePath; // Path of the CSV store inside the temporary directory.
+
+    /**
+     * Sets up the test environment before each test case.
+     * Points the store at a CSV file in the fresh temporary directory.
+     */
+    @BeforeEach
+    void setUp() {
+        filePath = tempDir.resolve("tasks.csv").toString();
+    }
+
+    /**
+     * Asserts that a fresh {@link Storage} with the given options loads exactly the expected tasks from the store.
+     *
+     * @param expected The tasks that were saved.
+     * @param config   The storage options to load with.
+     */
+    private void assertReloads(TaskList expected, StorageConfig config) {
+        assertEquals(expected.toString(), new Storage(filePath, config).loadTasks().toString());
+    }
+
+    /**
+     * Tests that changes saved in journal mode are replayed in order when the tasks are loaded again.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void loadTasks_shouldReplayJournal_whenSavedInJournalMode() throws ChattyTaskNotFoundException {
+        StorageConfig config = StorageConfig.defaults().setMode(StorageConfig.Mode.JOURNAL);
+        Storage storage = new Storage(filePath, config);
+
+        TaskList tasks = storage.loadTasks();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("buy milk"));
+        tasks.add(new Event("party", "friday 6pm", "9pm"));
+        storage.saveTasks(tasks);
+        tasks.mark(2);
+        storage.saveTasks(tasks);
+        tasks.delete(1);
+        storage.saveTasks(tasks);
+
+        assertReloads(tasks, config);
+        assertFalse(new File(filePath).exists());
+    }
+
+    /**
+     * Tests that a full rewrite folds the journal into the CSV file and removes the journal.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void saveTasks_shouldClearJournal_whenRewritingWholeFile() throws ChattyTaskNotFoundException {
+        Storage journalStorage = new Storage(filePath, StorageConfig.defaults().setMode(StorageConfig.Mode.JOURNAL));
+
+        TaskList tasks = journalStorage.loadTasks();
+        tasks.add(new Todo("read book"));
+        tasks.mark(1);
+        journalStorage.saveTasks(tasks);
+
+        new Storage(filePath).saveTasks(tasks);
+
+        assertFalse(new File(filePath + ".journal").exists());
+        assertReloads(tasks, StorageConfig.defaults());
+    }
+
+    /**
+     * Tests that once the journal passes the compaction threshold, it is folded into the snapshot in the
+     * background and loading the snapshot alone restores every task.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void saveTasks_shouldCompactJournalIntoSnapshot_whenThresholdReached() throws ChattyTaskNotFoundException {
+        StorageConfig config = StorageConfig.defaults()
+                .setMode(StorageConfig.Mode.JOURNAL)
+                .setCompactionRecordThreshold(4);
+        Storage storage = new Storage(filePath, config);
+
+        TaskList tasks = storage.loadTasks();
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Todo("task " + i));
+            storage.saveTasks(tasks);
+        }
+        tasks.mark(3);
+        tasks.delete(1);
+        storage.saveTasks(tasks);
+        storage.awaitCompaction();
+
+        assertTrue(new File(filePath).exists());
+        assertReloads(tasks, config);
+    }
+
+    /**
+     * Tests that the reported store size counts sealed deltas that have not been compacted yet.
+     *
+     * @throws IOException if the sealed delta cannot be written.
+     */
+    @Test
+    void getStoreSize_shouldCountSealedDeltas_whenNotYetCompacted() throws IOException {
+        Storage storage = new Storage(filePath, StorageConfig.defaults().setMode(StorageConfig.Mode.JOURNAL));
+        TaskList tasks = storage.loadTasks();
+        tasks.add(new Todo("read book"));
+        storage.saveTasks(tasks);
+        long unsealedSize = storage.getStoreSize();
+
+        Files.writeString(Path.of(filePath + ".journal.7"), "A,T,0,buy milk\n");
+        assertEquals(unsealedSize + new File(filePath + ".journal.7").length(), storage.getStoreSize());
+    }
+
+    /**
+     * Tests that saves handed to the background writer are all on disk once {@link Storage#flush()} returns,
+     * even when the coalescing window has not elapsed yet.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void flush_shouldWriteCoalescedSaves_whenWritingAsynchronously() throws ChattyTaskNotFoundException {
+        StorageConfig config = StorageConfig.defaults()
+                .setAsyncWrites(true)
+                .setCoalesceMillis(60_000);
+        Storage storage = new Storage(filePath, config);
+        try {
+            TaskList tasks = storage.loadTasks();
+            for (int i = 1; i <= 10; i++) {
+                tasks.add(new Todo("task " + i));
+                tasks.mark(i);
+                storage.saveTasks(tasks);
+            }
+            storage.flush();
+
+            assertReloads(tasks, StorageConfig.defaults());
+        } finally {
+            storage.shutdown();
+        }
+    }
+
+    /**
+     * Tests that shutting down an asynchronous storage writes pending saves and stops its writer thread.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     * @throws InterruptedException if interrupted while waiting for the writer thread to stop.
+     */
+    @Test
+    void shutdown_shouldWritePendingSavesAndStopWriter_whenWritingAsynchronously()
+            throws ChattyTaskNotFoundException, InterruptedException {
+        StorageConfig config = StorageConfig.defaults()
+                .setAsyncWrites(true)
+                .setCoalesceMillis(60_000);
+        Storage storage = new Storage(filePath, config);
+
+        TaskList tasks = storage.loadTasks();
+        tasks.add(new Todo("read book"));
+        tasks.mark(1);
+        storage.saveTasks(tasks);
+        Thread writer = findThread("chatty-writer");
+        storage.shutdown();
+
+        assertReloads(tasks, StorageConfig.defaults());
+        writer.join(5_000);
+        assertFalse(writer.isAlive());
+    }
+
+    private static Thread findThread(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name) && thread.isAlive()) {
+                return thread;
+            }
+        }
+        throw new AssertionError("No thread named " + name);
+    }
+
+    /**
+     * Tests that every durability level replaces the task file completely and leaves no temporary file behind.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void saveTasks_shouldReplaceFile_atEveryDurabilityLevel() throws ChattyTaskNotFoundException {
+        for (StorageConfig.Durability durability : StorageConfig.Durability.values()) {
+            String path = tempDir.resolve(durability + ".csv").toString();
+            Storage storage = new Storage(path, StorageConfig.defaults().setDurability(durability));
+
+            TaskList tasks = storage.loadTasks();
+            tasks.add(new Todo("read book"));
+            tasks.add(new Todo("buy milk"));
+            storage.saveTasks(tasks);
+            tasks.delete(1);
+            tasks.mark(1);
+            storage.saveTasks(tasks);
+
+            assertEquals(tasks.toString(), new Storage(path).loadTasks().toString());
+            assertFalse(new File(path + ".tmp").exists());
+        }
+    }
+
+    /**
+     * Tests that saves force data to disk by default, and only opt down when the system property asks to.
+     */
+    @Test
+    void durability_shouldDefaultToFsync_andOptDownWhenRequested() {
+        assertEquals(StorageConfig.Durability.FSYNC, StorageConfig.defaults().getDurability());
+        assertEquals(StorageConfig.Durability.FSYNC, StorageConfig.fromSystemProperties().getDurability());
+
+        System.setProperty("chatty.storage.durability", "flush");
+        try {
+            assertEquals(StorageConfig.Durability.FLUSH, StorageConfig.fromSystemProperties().getDurability());
+        } finally {
+            System.clearProperty("chatty.storage.durability");
+        }
+    }
+
+    /**
+     * Tests that an existing CSV file is migrated to the binary format on load, and that the binary store
+     * restores every task type unchanged.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    void loadTasks_shouldMigrateCsvToBinary_whenBinaryFormatConfigured() throws ChattyTaskNotFoundException {
+        Storage csvStorage = new Storage(filePath);
+        TaskList tasks = csvStorage.loadTasks();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("submit report", LocalDateTime.of(2025, 3, 1, 18, 0)));
+        tasks.add(new Event("party", "friday 6pm", "9pm"));
+        tasks.mark(2);
+        csvStorage.saveTasks(tasks);
+
+        StorageConfig binaryConfig = StorageConfig.defaults().setFormat(StorageConfig.Format.BINARY);
+        Storage binaryStorage = new Storage(filePath, binaryConfig);
+        TaskList migrated = binaryStorage.loadTasks();
+
+        assertEquals(tasks.toString(), migrated.toString());
+        assertTrue(tempDir.resolve("tasks.bin").toFile().exists());
+        assertFalse(new File(filePath).exists());
+
+        migrated.delete(1);
+        binaryStorage.saveTasks(migrated);
+        assertReloads(migrated, binaryConfig);
+    }
+
+    /**
+     * Tests that a lazily loaded binary store decodes tasks only when touched, and survives deletes, journal
+     * replay and a later rewrite unchanged.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     * @throws IOException if the binary store cannot be mapped.
+     */
+    @Test
+    void loadTasks_shouldDecodeOnAccess_whenLoadingLazily() throws ChattyTaskNotFoundException, IOException {
+        StorageConfig config = StorageConfig.defaults().setFormat(StorageConfig.Format.BINARY).setLazyLoad(true);
+        Storage storage = new Storage(filePath, config);
+        TaskList tasks = storage.loadTasks();
+        for (int i = 1; i <= 50; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        tasks.add(new Deadline("submit report", LocalDateTime.of(2025, 3, 1, 18, 0)));
+        storage.saveTasks(tasks);
+
+        MappedTaskList mapped = new BinaryTaskFormat().map(tempDir.resolve("tasks.bin").toFile());
+        TaskList mappedTasks = TaskList.backedBy(mapped);
+        assertEquals(51, mappedTasks.getNumOfTasks());
+        assertEquals(0, mapped.getDecodedCount());
+        assertEquals("task 7", mappedTasks.getTask(7).getTaskName());
+        assertEquals(1, mapped.getDecodedCount());
+
+        TaskList lazy = new Storage(filePath, config).loadTasks();
+        assertEquals(51, lazy.getNumOfTasks());
+        assertEquals("task 7", lazy.getTask(7).getTaskName());
+        lazy.delete(1);
+        lazy.mark(50);
+        lazy.add(new Todo("new task"));
+        assertEquals(tasks.getNumOfTasks(), lazy.getNumOfTasks());
+        assertEquals("task 2", lazy.getTask(1).getTaskName());
+
+        new Storage(filePath, config).saveTasks(lazy);
+        assertReloads(lazy, config);
+    }
+
+    /**
+     * Tests that readers sharing a lazily loaded task list under the read lock all see the same decoded task for
+     * every record.
+     *
+     * @throws Exception if the binary store cannot be mapped or a reader fails.
+     */
+    @Test
+    void getTask_shouldDecodeEachTaskOnce_whenReadConcurrentlyFromMappedList() throws Exception {
+        Storage storage = new Storage(filePath, StorageConfig.defaults().setFormat(StorageConfig.Format.BINARY));
+        TaskList tasks = storage.loadTasks();
+        int taskCount = 2_000;
+        for (int i = 1; i <= taskCount; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        storage.saveTasks(tasks);
+
+        MappedTaskList mapped = new BinaryTaskFormat().map(tempDir.resolve("tasks.bin").toFile());
+        TaskList mappedTasks = TaskList.backedBy(mapped);
+        int readerCount = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(readerCount);
+        List<Future<Task[]>> results = new ArrayList<>();
+        for (int r = 0; r < readerCount; r++) {
+            results.add(readers.submit(() -> {
+                start.await();
+                Task[] seen = new Task[taskCount];
+                for (int i = 0; i < taskCount; i++) {
+                    seen[i] = mappedTasks.getTask(i + 1);
+                }
+                return seen;
+            }));
+        }
+        start.countDown();
+
+        Task[] first = results.get(0).get();
+        for (Future<Task[]> result : results) {
+            Task[] seen = result.get();
+            for (int i = 0; i < taskCount; i++) {
+                assertSame(first[i], seen[i]);
+            }
+        }
+        readers.shutdown();
+        assertEquals(taskCount, mapped.getDecodedCount());
+        assertEquals("task 1000", first[999].getTaskName());
+    }
+
+    /**
+     * Tests that a CSV file large enough to be parsed in parallel chunks loads every task in its original order.
+     */
+    @Test
+    void loadTasks_shouldPreserveOrder_whenLoadingInParallel() {
+        Storage storage = new Storage(filePath);
+        TaskList tasks = storage.loadTasks();
+        for (int i = 1; i <= 100_000; i++) {
+            tasks.add(new Todo("task " + i, i % 7 == 0));
+        }
+        storage.saveTasks(tasks);
+
+        TaskList loaded = new Storage(filePath, StorageConfig.defaults().setParallelLoad(true)).loadTasks();
+        assertEquals(String.join("\n", tasks.toCsv()), String.join("\n", loaded.toCsv()));
+    }
+}
@@ -0,0 +1,32 @@
+package chatty.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link CommandMetrics} class.
+ * <p>
+ * This test class verifies that every stage of a command is recorded in its own histogram and that the total is
+ * their sum.
+ * </p>
+ */
+class CommandMetricsTest {
+
+    /**
+     * Tests that the time spent formatting a response is kept apart from executing and saving, and counted in the
+     * total and the summary.
+     */
+    @Test
+    void record_shouldKeepFormattingSeparate_fromOtherStages() {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.record("list", 1_000, 2_000, 40_000, 3_000);
+
+        assertEquals(2_000, metrics.getHistogram("list", CommandMetrics.Stage.EXECUTE).getMax());
+        assertEquals(40_000, metrics.getHistogram("list", CommandMetrics.Stage.FORMAT).getMax());
+        assertEquals(3_000, metrics.getHistogram("list", CommandMetrics.Stage.SAVE).getMax());
+        assertEquals(46_000, metrics.getHistogram("list", CommandMetrics.Stage.TOTAL).getMax());
+        assertTrue(metrics.getSummary().contains(", format 0.040 / 0.040, save"));
+    }
+}
@@ -0,0 +1,50 @@
+package chatty.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link LatencyHistogram} class.
+ * <p>
+ * This test class verifies that every duration falls into a bucket whose bounds contain it, and that percentiles
+ * are reported within the precision of the buckets.
+ * </p>
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Tests that the bucket of a duration never ends before the duration, nor more than an eighth after it.
+     */
+    @Test
+    void bucketOf_shouldContainValue_forAllMagnitudes() {
+        for (int exponent = 0; exponent < 63; exponent++) {
+            for (long value : new long[] {1L << exponent, (1L << exponent) + 1, (2L << exponent) - 1}) {
+                long upperBound = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+                assertTrue(upperBound >= value);
+                assertTrue(upperBound - value <= value / LatencyHistogram.SUB_BUCKETS);
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    /**
+     * Tests that the median and 99th percentile of 1 to 1000 microseconds are reported within an eighth.
+     */
+    @Test
+    void getPercentile_shouldBeWithinBucketPrecision_whenManyRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1000; micros >= 1; micros--) {
+            histogram.record(micros * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        long median = histogram.getPercentile(0.5);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+        assertEquals(0, new LatencyHistogram().getPercentile(0.99));
+    }
+}
@@ -0,0 +1,50 @@
+package chatty.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link DateTimeFormats} class.
+ * <p>
+ * This test class verifies that the hand-written conversions of the stored and displayed layouts give exactly what
+ * the corresponding formatters give, including for dates that do not exist and text that is not in the layout.
+ * </p>
+ */
+class DateTimeFormatsTest {
+
+    /**
+     * Tests that random dates are formatted and parsed back exactly as the formatters do.
+     */
+    @Test
+    void formatAndParse_shouldMatchFormatters_forRandomDates() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+
+            String csv = DateTimeFormats.formatCsv(dateTime);
+            assertEquals(dateTime.format(DateTimeFormats.CSV_FORMATTER), csv);
+            assertEquals(dateTime, DateTimeFormats.parseCsv(csv));
+            assertEquals(dateTime.format(DateTimeFormats.DISPLAY_FORMATTER), DateTimeFormats.formatDisplay(dateTime));
+        }
+    }
+
+    /**
+     * Tests that text the fast path cannot read is resolved or rejected the same way as by the formatter.
+     */
+    @Test
+    void parseCsv_shouldFallBackToFormatter_whenTextIsUnusual() {
+        assertEquals(LocalDateTime.parse("2025-02-30T10:00", DateTimeFormats.CSV_FORMATTER),
+                DateTimeFormats.parseCsv("2025-02-30T10:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeFormats.parseCsv("2025-13-01T10:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeFormats.parseCsv("2025-03-01 10:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeFormats.parseCsv("2025-03-0xT10:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeFormats.parseCsv("2025-03-01T25:00"));
+    }
+}
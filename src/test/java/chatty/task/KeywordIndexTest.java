@@ -0,0 +1,67 @@
+package chatty.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link KeywordIndex} class.
+ * <p>
+ * This test class verifies that a search only visits the words that can contain the query, and that its results
+ * match checking every task with {@link Task#contains(String)}.
+ * </p>
+ */
+public class KeywordIndexTest {
+
+    /**
+     * Tests that the words considered for a query are exactly the indexed words containing it, however many
+     * unrelated words are indexed, and that they are kept up to date as tasks are removed.
+     */
+    @Test
+    public void candidateWords_shouldOnlyIncludeWordsContainingQuery_whenVocabularyIsLarge() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            tasks.add(new Todo("chore" + i + " item" + (i * 7)));
+        }
+        Todo notebook = new Todo("buy Notebook");
+        tasks.add(new Todo("read book"));
+        tasks.add(notebook);
+        tasks.add(new Todo("fix bookshelf"));
+        KeywordIndex index = new KeywordIndex(tasks);
+
+        assertEquals(Set.of("book", "notebook", "bookshelf"), index.candidateWords("book"));
+        assertEquals(Set.of("book", "notebook", "bookshelf"), index.candidateWords("ook"));
+        assertEquals(Set.of("bookshelf"), index.candidateWords("kshe"));
+        assertEquals(Set.of(), index.candidateWords("bookcase"));
+        assertEquals(Set.of("chore1234"), index.candidateWords("chore1234"));
+
+        index.remove(notebook);
+        assertEquals(Set.of("book", "bookshelf"), index.candidateWords("book"));
+    }
+
+    /**
+     * Tests that searches through the index return the same tasks, in the same order, as a full scan.
+     */
+    @Test
+    public void find_shouldMatchFullScan_forShortAndLongQueries() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(new Todo("task" + i + " note-" + Integer.toHexString(i * 31)));
+        }
+        KeywordIndex index = new KeywordIndex(tasks);
+
+        for (String query : new String[] {"1", "a", "k4", "task12", "ASK3", "e-1f", "task499 note", "missing"}) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.contains(query)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, index.find(query));
+        }
+    }
+}
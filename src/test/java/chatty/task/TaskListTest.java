@@ -0,0 +1,228 @@
+package chatty.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import chatty.exception.ChattyTaskNotFoundException;
+
+/**
+ * Unit test class for the {@link TaskList} class.
+ * <p>
+ * This test class verifies that searching a task list returns the same tasks, in the same order, as checking every
+ * task with {@link Task#contains(String)}, including after the list has been changed, and that concurrent readers
+ * and writers neither lose updates nor see a list in the middle of a change.
+ * </p>
+ */
+public class TaskListTest {
+
+    /**
+     * Tests that {@link TaskList#tasksContain(String)} finds partial words in list order, and stays correct as tasks
+     * are added and deleted after the first search.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    public void tasksContain_shouldMatchSubstrings_whenListChangesAfterSearch() throws ChattyTaskNotFoundException {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("buy notebook"));
+        tasks.add(new Todo("return library-book"));
+        assertEquals("1. [T][ ] read book\n2. [T][ ] buy notebook\n3. [T][ ] return library-book",
+                tasks.tasksContain("book").toString());
+
+        tasks.delete(1);
+        tasks.add(new Todo("bookmark page"));
+        assertEquals("1. [T][ ] buy notebook\n2. [T][ ] return library-book\n3. [T][ ] bookmark page",
+                tasks.tasksContain("book").toString());
+        assertEquals("1. [T][ ] return library-book", tasks.tasksContain("y-b").toString());
+        assertEquals("", tasks.tasksContain("read").toString());
+        assertEquals("1. [T][ ] bookmark page", tasks.tasksContain("km").toString());
+    }
+
+    /**
+     * Tests that {@link TaskList#fuzzyFind(String, int, int)} tolerates typos and ranks closer words first, and that
+     * plain searches ignore case on both sides.
+     */
+    @Test
+    public void fuzzyFind_shouldRankCloserWordsFirst_whenWordHasTypos() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Todo("Buy Groceries"));
+        tasks.add(new Todo("submit report"));
+        tasks.add(new Todo("grocery run"));
+        tasks.add(new Todo("return books"));
+
+        assertEquals("1. [T][ ] Buy Groceries", tasks.fuzzyFind("grocreies", 2, 10).toString());
+        assertEquals("1. [T][ ] grocery run\n2. [T][ ] Buy Groceries", tasks.fuzzyFind("grocerys", 2, 10).toString());
+        assertEquals("1. [T][ ] grocery run", tasks.fuzzyFind("grocerys", 2, 1).toString());
+        assertEquals("1. [T][ ] Buy Groceries", tasks.tasksContain("GROCERIES").toString());
+    }
+
+    /**
+     * Tests that {@link TaskList#toString()} numbers every task by its position, even when the same task appears
+     * more than once, and that {@link TaskList#render(StringBuilder, int, int)} renders only the requested range.
+     */
+    @Test
+    public void toString_shouldNumberByPosition_whenTaskAppearsTwice() {
+        Todo task = new Todo("water plants");
+        TaskList tasks = new TaskList();
+        tasks.add(task);
+        tasks.add(new Todo("feed cat"));
+        tasks.add(task);
+
+        assertEquals("1. [T][ ] water plants\n2. [T][ ] feed cat\n3. [T][ ] water plants", tasks.toString());
+        assertEquals("2. [T][ ] feed cat\n3. [T][ ] water plants",
+                tasks.render(new StringBuilder(), 1, 3).toString());
+    }
+
+    /**
+     * Tests that a tree-backed task list holds the same tasks in the same order as an array-backed one after a long
+     * random sequence of adds, deletes and marks at arbitrary positions.
+     *
+     * @throws ChattyTaskNotFoundException if a task index used by the test does not exist.
+     */
+    @Test
+    public void treeBacking_shouldMatchArrayBacking_whenChangedAtRandomPositions() throws ChattyTaskNotFoundException {
+        TaskList array = new TaskList(TaskList.Backing.ARRAY);
+        TaskList tree = new TaskList(TaskList.Backing.TREE);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int size = array.getNumOfTasks();
+            int choice = random.nextInt(10);
+            if (size == 0 || choice < 5) {
+                Todo task = new Todo("task " + i);
+                array.add(task);
+                tree.add(task);
+            } else if (choice < 8) {
+                int index = 1 + random.nextInt(size);
+                array.delete(index);
+                tree.delete(index);
+            } else {
+                int index = 1 + random.nextInt(size);
+                assertSame(array.getTask(index), tree.getTask(index));
+                tree.mark(index);
+            }
+        }
+        assertEquals(array.snapshot(), tree.snapshot());
+        assertEquals(array.toString(), tree.toString());
+        assertEquals(array.tasksContain("task 19").toString(), tree.tasksContain("task 19").toString());
+    }
+
+    /**
+     * Tests that tasks added and deleted by several writer threads are all accounted for, while reader threads
+     * listing, searching and taking snapshots only ever see complete lists.
+     *
+     * @throws Exception if a reader or writer fails.
+     */
+    @Test
+    public void snapshot_shouldStayConsistent_whenReadersAndWritersRunConcurrently() throws Exception {
+        int writers = 4;
+        int readers = 4;
+        int tasksPerWriter = 2000;
+        TaskList tasks = new TaskList();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        List<Future<?>> writerResults = new ArrayList<>();
+        List<Future<?>> readerResults = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            writerResults.add(pool.submit(() -> {
+                for (int i = 0; i < tasksPerWriter; i++) {
+                    tasks.add(new Todo("writer" + writer + " task " + i));
+                    if (i % 2 == 1) {
+                        tasks.delete(1);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            readerResults.add(pool.submit(() -> {
+                while (isWriting.get()) {
+                    tasks.read(list -> {
+                        int size = list.getNumOfTasks();
+                        String page = list.render(new StringBuilder(), 0, Math.min(size, 100)).toString();
+                        assertEquals(Math.min(size, 100), page.isEmpty() ? 0 : page.split("\n").length);
+                        assertEquals(size, list.snapshot().size());
+                        assertSame(list.snapshot(), list.snapshot());
+                        return null;
+                    });
+                    tasks.tasksContain("task");
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : writerResults) {
+            result.get();
+        }
+        isWriting.set(false);
+        for (Future<?> result : readerResults) {
+            result.get();
+        }
+        pool.shutdown();
+
+        int expected = writers * tasksPerWriter / 2;
+        assertEquals(expected, tasks.getNumOfTasks());
+        assertEquals(expected, tasks.snapshot().size());
+        assertEquals(expected, tasks.tasksContain("task").getNumOfTasks());
+        assertEquals(writers * tasksPerWriter * 3 / 2, tasks.drainChanges().size());
+    }
+
+    /**
+     * Tests that searches share the read lock, so they complete while another reader holds it, and that searches
+     * racing to build the indexes all return the same results as a full scan.
+     *
+     * @throws Exception if a search fails or does not complete in time.
+     */
+    @Test
+    public void tasksContain_shouldRunUnderReadLock_whenAnotherReaderHoldsIt() throws Exception {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < 5000; i++) {
+            tasks.add(new Todo("task " + i + (i % 3 == 0 ? " book" : " note")));
+        }
+        String expected = tasks.tasksContain("9 book").toString();
+        TaskList fresh = new TaskList(tasks.snapshot());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        List<Future<String>> results = fresh.read(list -> {
+            List<Future<String>> searches = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                searches.add(pool.submit(() -> list.tasksContain("9 book").toString()));
+            }
+            searches.forEach(TaskListTest::await);
+            return searches;
+        });
+        for (Future<String> result : results) {
+            assertEquals(expected, result.get());
+        }
+        TaskList fuzzy = fresh.read(list -> await(pool.submit(() -> list.fuzzyFind("tsk", 1, 1))));
+        assertEquals("1. [T][ ] task 0 book", fuzzy.toString());
+        pool.shutdown();
+    }
+
+    /**
+     * Waits briefly for a task run on another thread, failing if it does not complete.
+     *
+     * @param result The pending result.
+     * @param <T>    The type of the result.
+     * @return The result.
+     */
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError("Search did not complete while the read lock was held", e);
+        }
+    }
+}
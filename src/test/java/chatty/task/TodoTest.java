@@ -56,4 +56,16 @@ public class TodoTest {
         String markUnDoneExpected = "[T][ ] watch lecture video";
         assertEquals(markUnDoneExpected, markUnDoneActual);
     }
+
+    /**
+     * Tests that a {@link Todo} whose description contains commas and quotes survives a round trip through
+     * {@link Todo#toCsv()} and {@link Todo#fromCsv(String)}.
+     */
+    @Test
+    public void fromCsv_shouldRestoreDescription_whenDescriptionContainsCommasAndQuotes() {
+        Todo original = new Todo("buy \"milk\", eggs, bread", true);
+        Todo restored = Todo.fromCsv(original.toCsv());
+
+        assertEquals(original.toString(), restored.toString());
+    }
 }
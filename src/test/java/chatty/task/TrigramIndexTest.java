@@ -0,0 +1,101 @@
+package chatty.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test class for the {@link TrigramIndex} class.
+ * <p>
+ * This test class verifies that the index disables itself once its postings exceed the budget, and that searches
+ * then fall back to other means without changing their results.
+ * </p>
+ */
+public class TrigramIndexTest {
+    private static final String[] QUERIES = {"ta", "task 1", "ASK 4", "note", "12", "missing"};
+
+    /**
+     * Returns tasks whose names share few trigrams, so their postings grow with the number of tasks.
+     *
+     * @param count The number of tasks.
+     * @return The tasks.
+     */
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Todo("task " + i + " note " + Integer.toString(i * 7919, 36)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks containing the keyword, found by checking every task.
+     *
+     * @param tasks   The tasks to check.
+     * @param keyword The keyword to search for.
+     * @return The matching tasks, in order.
+     */
+    private static List<Task> scan(List<Task> tasks, String keyword) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Tests that an index pushed past a low posting budget disables itself and stops answering searches, while a
+     * large enough budget keeps it enabled.
+     */
+    @Test
+    public void add_shouldDisableIndex_whenPostingsExceedBudget() {
+        List<Task> tasks = createTasks(500);
+
+        TrigramIndex index = new TrigramIndex(tasks, 1_000);
+        assertTrue(index.isDisabled());
+        assertNull(index.find("task 1"));
+        index.add(new Todo("task after disabling"));
+        index.remove(tasks.get(0));
+        assertNull(index.find("task 1"));
+
+        TrigramIndex unlimited = new TrigramIndex(tasks, TrigramIndex.DEFAULT_MAX_POSTINGS);
+        assertFalse(unlimited.isDisabled());
+        assertEquals(scan(tasks, "task 1"), unlimited.find("task 1"));
+    }
+
+    /**
+     * Tests that searching a task list whose trigram index exceeded its budget still returns exactly the tasks a
+     * full scan finds, including after the list changes.
+     *
+     * @throws Exception if a task index used by the test does not exist.
+     */
+    @Test
+    public void tasksContain_shouldMatchFullScan_whenTrigramIndexIsDisabled() throws Exception {
+        List<Task> tasks = createTasks(500);
+        TaskList taskList = new TaskList(TaskList.Backing.ARRAY, 1_000);
+        for (Task task : tasks) {
+            taskList.add(task);
+        }
+
+        for (String query : QUERIES) {
+            assertEquals(new TaskList(scan(tasks, query)).toString(), taskList.tasksContain(query).toString());
+        }
+
+        taskList.delete(2);
+        tasks.remove(1);
+        Todo added = new Todo("task 12 added later");
+        taskList.add(added);
+        tasks.add(added);
+        for (String query : QUERIES) {
+            assertEquals(new TaskList(scan(tasks, query)).toString(), taskList.tasksContain(query).toString());
+        }
+    }
+}
@@ -3,19 +3,24 @@
 REM create bin directory if it doesn't exist
 if not exist ..\bin mkdir ..\bin
 
-REM delete output from previous run
+REM delete output and tasks from previous run
 del ACTUAL.TXT
+if exist data rmdir /s /q data
 
-REM compile the code into the bin folder
-javac  -cp ..\src\main\java -Xlint:none -d ..\bin ..\src\main\java\*.java
+REM compile the code that does not need JavaFX into the bin folder
+if exist sources.txt del sources.txt
+for /r ..\src\main\java %%f in (*.java) do (
+    findstr /c:"javafx" "%%f" >nul || echo %%f>>sources.txt
+)
+javac  -cp ..\src\main\java -Xlint:none -d ..\bin @sources.txt
 IF ERRORLEVEL 1 (
     echo ********** BUILD FAILURE **********
     exit /b 1
 )
 REM no error here, errorlevel == 0
 
-REM run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ..\bin chatty.Chatty < input.txt > ACTUAL.TXT
+REM run the program headless, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -classpath ..\bin chatty.HeadlessRunner --data .\data\tasks.csv < input.txt > ACTUAL.TXT
 
 REM compare the output to the expected output
 FC ACTUAL.TXT EXPECTED.TXT
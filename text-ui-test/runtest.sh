@@ -6,21 +6,22 @@ then
     mkdir ../bin
 fi
 
-# delete output from previous run
+# delete output and tasks from previous run
 if [ -e "./ACTUAL.TXT" ]
 then
     rm ACTUAL.TXT
 fi
+rm -rf ./data
 
-# compile the code into the bin folder, terminates if error occurred
-if ! javac -cp ../src/main/java -Xlint:none -d ../bin ../src/main/java/*.java
+# compile the code that does not need JavaFX into the bin folder, terminates if error occurred
+if ! javac -cp ../src/main/java -Xlint:none -d ../bin $(grep -L -r "javafx" ../src/main/java --include=*.java)
 then
     echo "********** BUILD FAILURE **********"
     exit 1
 fi
 
-# run the program, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
-java -classpath ../bin Chatty < input.txt > ACTUAL.TXT
+# run the program headless, feed commands from input.txt file and redirect the output to the ACTUAL.TXT
+java -classpath ../bin chatty.HeadlessRunner --data ./data/tasks.csv < input.txt > ACTUAL.TXT
 
 # convert to UNIX format
 cp EXPECTED.TXT EXPECTED-UNIX.TXT
@@ -35,4 +36,4 @@ then
 else
     echo "Test result: FAILED"
     exit 1
-fi
\ No newline at end of file
+fi